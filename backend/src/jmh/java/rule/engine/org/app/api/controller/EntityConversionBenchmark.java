@@ -0,0 +1,68 @@
+package rule.engine.org.app.api.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import rule.engine.org.app.api.mapper.FactBinders;
+import rule.engine.org.app.benchmark.BenchmarkFixtures;
+import rule.engine.org.app.domain.entity.ui.FactType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request body to execution entity conversion done by /execute: binding the body straight to the
+ * entity (FactBinders) against parsing it to a Map first and converting that, as the endpoint used to.
+ * Run with -prof gc to compare allocation per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EntityConversionBenchmark {
+
+    @Param({"Declaration", "CargoReport", "Traveler"})
+    private String factType;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private FactBinders binders;
+    private FactType type;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        type = FactType.fromValue(factType);
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("factType", type.getValue());
+        data.putAll(BenchmarkFixtures.sample(type));
+        body = mapper.writeValueAsBytes(data);
+        binders = new FactBinders(BenchmarkFixtures.entityScanner());
+    }
+
+    @Benchmark
+    public Object bindStream() throws IOException {
+        return binders.read(new ByteArrayInputStream(body)).entity();
+    }
+
+    @Benchmark
+    public Object mapThenConvert() throws IOException {
+        Map<String, Object> data = mapper.readValue(body, new TypeReference<Map<String, Object>>() {});
+        return binders.convert(data, type);
+    }
+}
@@ -0,0 +1,238 @@
+package rule.engine.org.app.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import rule.engine.org.app.domain.entity.ui.DecisionRule;
+import rule.engine.org.app.domain.entity.ui.FactType;
+import rule.engine.org.app.domain.entity.ui.RuleStatus;
+import rule.engine.org.app.util.DrlConstants;
+import rule.engine.org.app.util.EntityScannerService;
+import rule.engine.org.app.util.RuleFieldExtractor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Shared fixtures for the JMH benchmarks: sample facts, generated rule sets,
+ * repository stubs and the static DRL-generation wiring normally done by Spring.
+ */
+public final class BenchmarkFixtures {
+
+    /**
+     * System property with the directory holding the sample JSON files (set by the jmh Gradle task).
+     */
+    public static final String FIXTURES_PROPERTY = "benchmark.fixtures";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectMapper ENTITY_MAPPER = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        .registerModule(new JavaTimeModule());
+    private static final String[] ACTIONS = {"FLAG", "REVIEW", "HOLD", "REJECT", "APPROVE"};
+
+    private static EntityScannerService entityScannerService;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Scan execution entities and wire DrlConstants / RuleFieldExtractor as DrlConstantsConfig does at startup.
+     */
+    public static synchronized EntityScannerService entityScanner() {
+        if (entityScannerService == null) {
+            EntityScannerService scanner = new EntityScannerService();
+            scanner.scanEntities();
+            new RuleFieldExtractor(scanner);
+            DrlConstants.setEntityScannerService(scanner);
+            entityScannerService = scanner;
+        }
+        return entityScannerService;
+    }
+
+    /**
+     * Request-shaped sample data for a fact type, as posted to /execute.
+     * Declaration and CargoReport come from json/goods-declaration-sample.json and
+     * json/cargo-report-sample.json with keys converted to camelCase; Traveler has no sample
+     * file and is built here with the *ID keys and arrays that FactBinders normalizes.
+     */
+    public static Map<String, Object> sample(FactType factType) {
+        return switch (factType) {
+            case DECLARATION -> {
+                Map<String, Object> document = readSample("goods-declaration-sample.json");
+                Object data = document.getOrDefault("data", document);
+                yield normalize(asMap(data), "declarationId");
+            }
+            case CARGO_REPORT -> normalize(readSample("cargo-report-sample.json"), "reportId");
+            case TRAVELER -> travelerSample();
+        };
+    }
+
+    /**
+     * Sample converted to its execution fact the way /execute does it.
+     */
+    public static Object entity(FactType factType) {
+        Map<String, Object> data = factType == FactType.TRAVELER
+            ? normalize(sample(factType), "travelerId")
+            : sample(factType);
+        return ENTITY_MAPPER.convertValue(data, entityScanner().getFactClass(factType));
+    }
+
+    /**
+     * Generate rules shaped like the ones RuleController builds: one alpha-indexed code constraint
+     * plus a numeric constraint, with a THEN clause that records a hit. One rule in ten matches
+     * the sample fact, so hits scale with the rule count.
+     */
+    public static List<DecisionRule> generateRules(FactType factType, int count) {
+        List<DecisionRule> rules = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = i + 1;
+            String code = i % 10 == 0 ? matchingCode(factType) : "X" + i;
+            String condition = switch (factType) {
+                case DECLARATION -> "$d : Declaration(officeId == \"" + code + "\", invoiceAmount > " + (i % 1000) + ")";
+                case CARGO_REPORT -> "$c : CargoReport(officeId == \"" + code + "\", transportMeansModeCode != \"" + (i % 8 + 2) + "\")";
+                case TRAVELER -> "$t : Traveler(nationalityCountryId == \"" + code + "\", sequenceNumeric < " + (1000 + i) + ")";
+            };
+            String ruleName = "Bench_" + i;
+            String drl = "rule \"" + ruleName + "_" + id + "\"\n"
+                + "salience " + (count - i) + "\n"
+                + "when\n"
+                + "    " + condition + "\n"
+                + "then\n"
+                + "    RuleOutputHit output = new RuleOutputHit();\n"
+                + "    output.setRuleId(" + id + "L);\n"
+                + "    output.setAction(\"" + ACTIONS[i % ACTIONS.length] + "\");\n"
+                + "    output.setResult(\"Rule '" + ruleName + "' matched\");\n"
+                + "    output.setScore(new java.math.BigDecimal(\"" + (i % 50) + "\"));\n"
+                + "    output.setDescription(\"RULE_ID:" + id + "\");\n"
+                + "    totalResults.getHits().add(output);\n"
+                + "end\n";
+
+            DecisionRule rule = new DecisionRule();
+            rule.setId(id);
+            rule.setRuleName(ruleName);
+            rule.setFactType(factType);
+            rule.setPriority(count - i);
+            rule.setStatus(RuleStatus.ACTIVE);
+            rule.setIsLatest(true);
+            rule.setRuleContent(drl);
+            rules.add(rule);
+        }
+        return rules;
+    }
+
+    /**
+     * Dynamic-proxy implementation of a repository interface answering only the named methods.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "toString":
+                    return type.getSimpleName() + "Stub";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer == null) {
+                        throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+                    }
+                    return answer.apply(args);
+            }
+        });
+    }
+
+    private static String matchingCode(FactType factType) {
+        return factType == FactType.TRAVELER ? "VN" : "VNHPH";
+    }
+
+    private static Map<String, Object> readSample(String fileName) {
+        Path dir = Path.of(System.getProperty(FIXTURES_PROPERTY, "../json"));
+        try {
+            return MAPPER.readValue(Files.readString(dir.resolve(fileName)), new TypeReference<>() {});
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read benchmark fixture " + dir.resolve(fileName), e);
+        }
+    }
+
+    /**
+     * Convert WCO-style keys (OfficeID, UCR, PreviousDocumentIDs) to the entities' camelCase
+     * field names. Lists of scalars become JSON strings, as the entities store them.
+     */
+    private static Map<String, Object> normalize(Map<String, Object> source, String idField) {
+        Map<String, Object> target = new LinkedHashMap<>();
+        source.forEach((key, value) -> target.put(normalizeKey(key, idField), normalizeValue(value)));
+        return target;
+    }
+
+    private static Object normalizeValue(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            return normalize(asMap(map), "id");
+        }
+        if (value instanceof List<?> list) {
+            if (!list.isEmpty() && !(list.get(0) instanceof Map)) {
+                try {
+                    return MAPPER.writeValueAsString(list);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return list.stream().map(BenchmarkFixtures::normalizeValue).toList();
+        }
+        return value;
+    }
+
+    private static String normalizeKey(String key, String idField) {
+        if (key.equals("ID")) {
+            return idField;
+        }
+        if (key.equals(key.toUpperCase())) {
+            return key.toLowerCase();
+        }
+        String camel = Character.toLowerCase(key.charAt(0)) + key.substring(1);
+        if (camel.endsWith("IDs")) {
+            return camel.substring(0, camel.length() - 3) + "Ids";
+        }
+        if (camel.endsWith("ID")) {
+            return camel.substring(0, camel.length() - 2) + "Id";
+        }
+        return camel;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        return (Map<String, Object>) value;
+    }
+
+    private static Map<String, Object> travelerSample() {
+        Map<String, Object> traveler = new LinkedHashMap<>();
+        traveler.put("TravelerID", "TRV-2025-000123");
+        traveler.put("sequenceNumeric", 1);
+        traveler.put("crewOrPassengerCode", "PAX");
+        traveler.put("residenceStatusCode", "V");
+        traveler.put("transitIndicatorCode", "N");
+        traveler.put("familyName", "NGUYEN");
+        traveler.put("givenName", "AN");
+        traveler.put("otherGivenNames", List.of("VAN"));
+        traveler.put("genderCode", "M");
+        traveler.put("birthDate", "1990-05-17");
+        traveler.put("NationalityCountryID", "VN");
+        traveler.put("ResidenceCountryID", "VN");
+        traveler.put("travelDocumentTypeCode", "P");
+        traveler.put("travelDocumentNumber", "C1234567");
+        traveler.put("TravelDocumentIssuingCountryID", "VN");
+        traveler.put("travelDocumentExpiryDate", "2030-01-01");
+        traveler.put("baggageTagIds", List.of("VN123456", "VN123457"));
+        return traveler;
+    }
+}
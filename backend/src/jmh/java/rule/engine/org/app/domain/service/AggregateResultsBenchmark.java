@@ -0,0 +1,77 @@
+package rule.engine.org.app.domain.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rule.engine.org.app.domain.entity.execution.RuleOutputHit;
+import rule.engine.org.app.domain.entity.execution.TotalRuleResults;
+import rule.engine.org.app.domain.entity.ui.FactType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of aggregating hits into total score, final action and final flag: in one pass over a
+ * finished hit list, and incrementally as the hits are added (what a rule session does).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AggregateResultsBenchmark {
+
+    private static final String[] ACTIONS = {"FLAG", "REVIEW", "HOLD", "REJECT", "APPROVE"};
+
+    @Param({"1", "10", "100", "1000"})
+    private int hitCount;
+
+    private RuleEngineManager manager;
+    private TotalRuleResults results;
+    private List<RuleOutputHit> hits;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        manager = EngineFixtures.newManager(FactType.DECLARATION, List.of());
+        hits = new ArrayList<>();
+        for (int i = 0; i < hitCount; i++) {
+            RuleOutputHit hit = new RuleOutputHit();
+            hit.setRuleId((long) i + 1);
+            hit.setAction(ACTIONS[i % ACTIONS.length]);
+            hit.setScore(BigDecimal.valueOf(i % 50));
+            hit.setFlag(i % 3 == 0 ? "FLAG_" + i : null);
+            hits.add(hit);
+        }
+        // A plain list is aggregated in full on every call
+        results = new TotalRuleResults();
+        results.setHits(hits);
+    }
+
+    @Benchmark
+    public TotalRuleResults aggregateResults() {
+        manager.aggregateResults(results);
+        return results;
+    }
+
+    @Benchmark
+    public TotalRuleResults addHitsIncrementally() {
+        TotalRuleResults incremental = new TotalRuleResults();
+        for (RuleOutputHit hit : hits) {
+            incremental.getHits().add(hit);
+        }
+        manager.aggregateResults(incremental);
+        return incremental;
+    }
+}
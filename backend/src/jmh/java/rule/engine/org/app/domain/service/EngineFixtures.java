@@ -0,0 +1,57 @@
+package rule.engine.org.app.domain.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import rule.engine.org.app.benchmark.BenchmarkFixtures;
+import rule.engine.org.app.config.RuleEngineProperties;
+import rule.engine.org.app.config.RuleEngineProperties.Compile.BuildMode;
+import rule.engine.org.app.domain.entity.ui.DecisionRule;
+import rule.engine.org.app.domain.entity.ui.FactType;
+import rule.engine.org.app.domain.repository.DecisionRuleRepository;
+import rule.engine.org.app.domain.repository.KieContainerVersionRepository;
+import rule.engine.org.app.domain.repository.RuleDeploymentSnapshotRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * RuleEngineManager wired to in-memory repository stubs serving a fixed rule set.
+ */
+final class EngineFixtures {
+
+    private EngineFixtures() {
+    }
+
+    static RuleEngineManager newManager(FactType factType, List<DecisionRule> rules) {
+        return newManager(factType, rules, BuildMode.DRL);
+    }
+
+    static RuleEngineManager newManager(FactType factType, List<DecisionRule> rules, BuildMode buildMode) {
+        return newManager(factType, rules, buildMode, properties -> { });
+    }
+
+    /**
+     * @param customizer adjusts the properties before the manager is created (e.g. execution policies)
+     */
+    static RuleEngineManager newManager(FactType factType, List<DecisionRule> rules, BuildMode buildMode,
+                                        Consumer<RuleEngineProperties> customizer) {
+        BenchmarkFixtures.entityScanner();
+        DecisionRuleRepository ruleRepository = BenchmarkFixtures.stub(DecisionRuleRepository.class, Map.of(
+            "findByFactTypeAndIsLatestTrueAndStatusOrderByPriorityAsc", args -> rules,
+            "findDistinctFactTypes", args -> List.of(factType),
+            "findAllById", args -> rules));
+        KieContainerVersionRepository versionRepository = BenchmarkFixtures.stub(KieContainerVersionRepository.class, Map.of(
+            "findLatestVersionByFactType", args -> Optional.empty()));
+        RuleDeploymentSnapshotRepository snapshotRepository = BenchmarkFixtures.stub(
+            RuleDeploymentSnapshotRepository.class, Map.of());
+        RuleEngineProperties properties = new RuleEngineProperties();
+        // Background artifact compiles and pre-publish warm-up would skew deploy and compile timings
+        properties.getArtifacts().setEnabled(false);
+        properties.getWarmup().setEnabled(false);
+        properties.getCompile().setBuildMode(buildMode);
+        customizer.accept(properties);
+        return new RuleEngineManager(ruleRepository, versionRepository, snapshotRepository, properties,
+            new RuleEngineMetrics(new SimpleMeterRegistry()), BenchmarkFixtures.entityScanner());
+    }
+}
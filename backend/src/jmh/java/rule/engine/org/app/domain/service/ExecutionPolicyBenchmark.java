@@ -0,0 +1,72 @@
+package rule.engine.org.app.domain.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import rule.engine.org.app.benchmark.BenchmarkFixtures;
+import rule.engine.org.app.config.RuleEngineProperties;
+import rule.engine.org.app.config.RuleEngineProperties.Compile.BuildMode;
+import rule.engine.org.app.domain.entity.execution.TotalRuleResults;
+import rule.engine.org.app.domain.entity.ui.FactType;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time per Declaration execution under each execution policy. One generated rule in ten matches
+ * and every matching rule produces a FLAG hit scoring 0-40, so FIRST_TERMINAL (terminal action FLAG)
+ * stops at the first hit, TOP_N (5) at the fifth and SCORE_THRESHOLD (100) at the fifth.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ExecutionPolicyBenchmark {
+
+    private static final String FACT_TYPE = "Declaration";
+
+    @Param({"100", "1000"})
+    private int ruleCount;
+
+    @Param({"ALL", "FIRST_TERMINAL", "TOP_N", "SCORE_THRESHOLD"})
+    private RuleEngineProperties.Execution.Mode mode;
+
+    private RuleEngineManager manager;
+    private Object fact;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RuleEngineProperties.Execution.Policy policy = new RuleEngineProperties.Execution.Policy();
+        policy.setMode(mode);
+        policy.setTerminalAction("FLAG");
+        policy.setMaxHits(5);
+        policy.setScoreThreshold(new BigDecimal("100"));
+        manager = EngineFixtures.newManager(FactType.DECLARATION,
+            BenchmarkFixtures.generateRules(FactType.DECLARATION, ruleCount), BuildMode.DRL,
+            properties -> properties.getExecution().getPolicies().put(FACT_TYPE, policy));
+        manager.rebuildRules(FACT_TYPE);
+        fact = BenchmarkFixtures.entity(FactType.DECLARATION);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        manager.disposeAll();
+    }
+
+    @Benchmark
+    public TotalRuleResults fireRules() {
+        return manager.fireRules(FACT_TYPE, fact);
+    }
+}
@@ -0,0 +1,70 @@
+package rule.engine.org.app.domain.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import rule.engine.org.app.benchmark.BenchmarkFixtures;
+import rule.engine.org.app.config.RuleEngineProperties.Compile.BuildMode;
+import rule.engine.org.app.domain.entity.ui.DecisionRule;
+import rule.engine.org.app.domain.entity.ui.FactType;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to compile a rule set into a KieContainer (buildKieContainer) in each build mode, one build per invocation.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class RuleCompilationBenchmark {
+
+    @Param({"Declaration", "CargoReport", "Traveler"})
+    private String factType;
+
+    @Param({"10", "100", "1000", "10000"})
+    private int ruleCount;
+
+    @Param({"DRL", "EXECUTABLE_MODEL"})
+    private BuildMode buildMode;
+
+    private RuleEngineManager manager;
+    private List<DecisionRule> rules;
+    private long version;
+    private RuleEngineManager.KieContainerBuildResult lastBuild;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FactType type = FactType.fromValue(factType);
+        rules = BenchmarkFixtures.generateRules(type, ruleCount);
+        manager = EngineFixtures.newManager(type, rules, buildMode);
+    }
+
+    @Benchmark
+    public RuleEngineManager.KieContainerBuildResult buildKieContainer() {
+        lastBuild = manager.buildKieContainer(rules, factType, ++version, KieModuleRegistry.Kind.TEMPORARY);
+        return lastBuild;
+    }
+
+    @TearDown(Level.Invocation)
+    public void disposeBuild() {
+        if (lastBuild != null) {
+            // Keep the KieRepository from accumulating one module per invocation
+            lastBuild.dispose();
+            lastBuild = null;
+        }
+    }
+}
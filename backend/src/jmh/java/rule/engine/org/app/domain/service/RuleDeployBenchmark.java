@@ -0,0 +1,70 @@
+package rule.engine.org.app.domain.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import rule.engine.org.app.benchmark.BenchmarkFixtures;
+import rule.engine.org.app.domain.entity.ui.DecisionRule;
+import rule.engine.org.app.domain.entity.ui.FactType;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to refresh the live container after editing one rule of a deployed rule set:
+ * incremental workspace build, KieBase assembly and swap.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class RuleDeployBenchmark {
+
+    @Param({"Declaration"})
+    private String factType;
+
+    @Param({"100", "1000", "3000"})
+    private int ruleCount;
+
+    private RuleEngineManager manager;
+    private List<DecisionRule> rules;
+    private int edits;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FactType type = FactType.fromValue(factType);
+        rules = BenchmarkFixtures.generateRules(type, ruleCount);
+        manager = EngineFixtures.newManager(type, rules);
+        manager.rebuildRules(factType);
+    }
+
+    @Setup(Level.Invocation)
+    public void editOneRule() {
+        // Change the salience of one rule, as an edit in the UI would
+        DecisionRule rule = rules.get(edits++ % rules.size());
+        rule.setRuleContent(rule.getRuleContent().replaceFirst("salience \\d+", "salience " + (ruleCount + edits)));
+    }
+
+    @Benchmark
+    public long refreshAfterOneRuleChange() {
+        manager.rebuildRules(factType);
+        return manager.getContainerVersion(factType);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        manager.disposeAll();
+    }
+}
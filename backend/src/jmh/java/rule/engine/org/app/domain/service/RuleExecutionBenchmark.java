@@ -0,0 +1,65 @@
+package rule.engine.org.app.domain.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import rule.engine.org.app.benchmark.BenchmarkFixtures;
+import rule.engine.org.app.config.RuleEngineProperties.Compile.BuildMode;
+import rule.engine.org.app.domain.entity.execution.TotalRuleResults;
+import rule.engine.org.app.domain.entity.ui.FactType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link RuleEngineManager#fireRules(String, Object)} against a published container
+ * of generated rules. One rule in ten matches the sample fact.
+ * Run with -t N to measure concurrent executions sharing the container.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RuleExecutionBenchmark {
+
+    @Param({"Declaration", "CargoReport", "Traveler"})
+    private String factType;
+
+    @Param({"10", "100", "1000", "10000"})
+    private int ruleCount;
+
+    @Param({"DRL", "EXECUTABLE_MODEL"})
+    private BuildMode buildMode;
+
+    private RuleEngineManager manager;
+    private Object fact;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FactType type = FactType.fromValue(factType);
+        manager = EngineFixtures.newManager(type, BenchmarkFixtures.generateRules(type, ruleCount), buildMode);
+        manager.rebuildRules(factType);
+        fact = BenchmarkFixtures.entity(type);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        manager.disposeAll();
+    }
+
+    @Benchmark
+    public TotalRuleResults fireRules() {
+        return manager.fireRules(factType, fact);
+    }
+}
@@ -0,0 +1,74 @@
+package rule.engine.org.app.domain.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import rule.engine.org.app.benchmark.BenchmarkFixtures;
+import rule.engine.org.app.config.RuleEngineProperties.Compile.BuildMode;
+import rule.engine.org.app.domain.entity.execution.TotalRuleResults;
+import rule.engine.org.app.domain.entity.ui.DecisionRule;
+import rule.engine.org.app.domain.entity.ui.FactType;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time per Declaration execution with the generated rules spread over ten typeCode partitions
+ * (the sample fact is "IM"), against the same rules unpartitioned. Matching rules are spread
+ * evenly, so the partitioned run evaluates and fires a tenth of them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RulePartitionBenchmark {
+
+    private static final String FACT_TYPE = "Declaration";
+    private static final String[] TYPE_CODES = {"IM", "EX", "TA", "TX", "NK", "XK", "GC", "TH", "RE", "KE"};
+
+    @Param({"100", "1000"})
+    private int ruleCount;
+
+    @Param({"false", "true"})
+    private boolean partitioned;
+
+    private RuleEngineManager manager;
+    private Object fact;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<DecisionRule> rules = BenchmarkFixtures.generateRules(FactType.DECLARATION, ruleCount);
+        if (partitioned) {
+            // Every tenth rule matches; (i / 10) spreads the matching ones over the partitions too
+            for (int i = 0; i < rules.size(); i++) {
+                rules.get(i).setPartitionKey(TYPE_CODES[(i / 10) % TYPE_CODES.length]);
+            }
+        }
+        manager = EngineFixtures.newManager(FactType.DECLARATION, rules, BuildMode.DRL,
+            properties -> properties.getPartitioning().getFields().put(FACT_TYPE, "typeCode"));
+        manager.rebuildRules(FACT_TYPE);
+        fact = BenchmarkFixtures.entity(FactType.DECLARATION);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        manager.disposeAll();
+    }
+
+    @Benchmark
+    public TotalRuleResults fireRules() {
+        return manager.fireRules(FACT_TYPE, fact);
+    }
+}
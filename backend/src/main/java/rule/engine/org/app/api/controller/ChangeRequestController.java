@@ -121,6 +121,7 @@ public class ChangeRequestController {
     private final UserDisplayNameService userDisplayNameService;
     private final rule.engine.org.app.domain.service.NotificationService notificationService;
     private final rule.engine.org.app.domain.repository.UserAccountRepository userAccountRepository;
+    private final rule.engine.org.app.api.mapper.FactBinders factBinders;
 
     public ChangeRequestController(
             ChangeRequestRepository changeRequestRepository,
@@ -132,7 +133,8 @@ public class ChangeRequestController {
             DeploymentSchedulerService deploymentSchedulerService,
             UserDisplayNameService userDisplayNameService,
             rule.engine.org.app.domain.service.NotificationService notificationService,
-            rule.engine.org.app.domain.repository.UserAccountRepository userAccountRepository) {
+            rule.engine.org.app.domain.repository.UserAccountRepository userAccountRepository,
+            rule.engine.org.app.api.mapper.FactBinders factBinders) {
         this.changeRequestRepository = changeRequestRepository;
         this.decisionRuleRepository = decisionRuleRepository;
         this.containerVersionRepository = containerVersionRepository;
@@ -143,6 +145,7 @@ public class ChangeRequestController {
             this.userDisplayNameService = userDisplayNameService;
             this.notificationService = notificationService;
             this.userAccountRepository = userAccountRepository;
+            this.factBinders = factBinders;
         }
     
     /**
@@ -563,6 +566,7 @@ public class ChangeRequestController {
                 simulatedRule.setFactType(rule.getFactType());
                 simulatedRule.setRuleContent(rule.getRuleContent()); // This is what matters for Drools execution
                 simulatedRule.setPriority(rule.getPriority());
+                simulatedRule.setPartitionKey(rule.getPartitionKey());
                 simulatedRule.setStatus(RuleStatus.ACTIVE); // Simulate as ACTIVE for validation
                 simulatedRule.setIsLatest(rule.getIsLatest());
                 simulatedRule.setVersion(rule.getVersion());
@@ -624,6 +628,7 @@ public class ChangeRequestController {
             simulatedRule.setFactType(rule.getFactType());
             simulatedRule.setRuleContent(rule.getRuleContent());
             simulatedRule.setPriority(rule.getPriority());
+            simulatedRule.setPartitionKey(rule.getPartitionKey());
             simulatedRule.setStatus(RuleStatus.ACTIVE);
             simulatedRule.setIsLatest(rule.getIsLatest());
             simulatedRule.setVersion(rule.getVersion());
@@ -698,14 +703,11 @@ public class ChangeRequestController {
                     "message", "Execution test failed: " + e.getMessage()
             );
         } finally {
-            if (tempContainer != null) {
-                try {
-                    log.debug("Disposing temporary validation container");
-                    tempContainer.dispose();
-                } catch (Exception e) {
-                    log.warn("Error disposing temporary container: {}", e.getMessage());
-                }
-            }
+            // Cleanup temporary container - this is the container from the temporary build.
+            // Disposed for every fact type, also when no execution test ran, so its KieModule
+            // is removed from the KieRepository
+            log.debug("Disposing temporary validation container");
+            ruleEngineManager.disposeTemporaryContainer(validationResult);
         }
 
         ChangeRequestValidationResponse response = ChangeRequestValidationResponse.builder()
@@ -793,15 +795,11 @@ public class ChangeRequestController {
                     "message", "Execution test failed: " + e.getMessage()
             );
         } finally {
-            // Cleanup temporary container - this is the container from the temporary build
-            if (tempContainer != null) {
-                try {
-                    log.debug("Disposing temporary validation container");
-                    tempContainer.dispose();
-                } catch (Exception e) {
-                    log.warn("Error disposing temporary container: {}", e.getMessage());
-                }
-            }
+            // Cleanup temporary container - this is the container from the temporary build.
+            // Disposed for every fact type, also when no execution test ran, so its KieModule
+            // is removed from the KieRepository
+            log.debug("Disposing temporary validation container");
+            ruleEngineManager.disposeTemporaryContainer(validationResult);
         }
 
         ChangeRequestValidationResponse response = ChangeRequestValidationResponse.builder()
@@ -839,31 +837,13 @@ public class ChangeRequestController {
                 );
             }
 
-            // Convert to Declaration entity
-            rule.engine.org.app.domain.entity.execution.declaration.Declaration declaration = 
-                    buildDeclarationFromMap(sampleData);
-            
-            // Log declaration details
-            if (declaration != null) {
-                log.info("📋 Declaration built: ID={}, OfficeID={}, InvoiceAmount={}, PackageQuantity={}, TotalGrossMassMeasure={}", 
-                        declaration.getId(),
-                        declaration.getOfficeId(),
-                        declaration.getInvoiceAmount(),
-                        declaration.getPackageQuantity(),
-                        declaration.getTotalGrossMassMeasure());
-                if (declaration.getGovernmentAgencyGoodsItems() != null) {
-                    log.info("📦 Goods items count: {}", declaration.getGovernmentAgencyGoodsItems().size());
-                    declaration.getGovernmentAgencyGoodsItems().forEach(item -> {
-                        log.info("  - HSID={}, QuantityQuantity={}, UnitPriceAmount={}, OriginCountryID={}, DutyRate={}", 
-                                item.getHsId(), item.getQuantityQuantity(), item.getUnitPriceAmount(), 
-                                item.getOriginCountryId(), item.getDutyRate());
-                    });
-                } else {
-                    log.warn("⚠️ GovernmentAgencyGoodsItems is null!");
-                }
-            } else {
-                log.warn("⚠️ Declaration is null after building from sample data!");
-            }
+            // Bind to the Declaration fact the validation container's rules are written against
+            rule.engine.org.app.domain.fact.declaration.Declaration declaration =
+                    (rule.engine.org.app.domain.fact.declaration.Declaration) factBinders.convert(sampleData, FactType.DECLARATION);
+            log.info("📋 Declaration built: ID={}, OfficeID={}, goods items={}",
+                    declaration.getDeclarationId(),
+                    declaration.getOfficeId(),
+                    declaration.getGovernmentAgencyGoodsItems() != null ? declaration.getGovernmentAgencyGoodsItems().size() : 0);
 
             // Execute with temporary container
             log.info("🚀 Executing rules with temporary container (factType: {})", factType);
@@ -943,25 +923,6 @@ public class ChangeRequestController {
         }
     }
 
-    /**
-     * Convert Map to Declaration entity (similar to RuleController.buildDeclarationFromMap)
-     */
-    private rule.engine.org.app.domain.entity.execution.declaration.Declaration buildDeclarationFromMap(
-            Map<String, Object> data) {
-        try {
-            com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            mapper.configure(com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-            
-            rule.engine.org.app.domain.entity.execution.declaration.Declaration declaration = 
-                mapper.convertValue(data, rule.engine.org.app.domain.entity.execution.declaration.Declaration.class);
-            
-            return declaration;
-        } catch (Exception e) {
-            log.error("Error converting Map to Declaration: {}", e.getMessage(), e);
-            throw new IllegalArgumentException("Invalid Declaration data: " + e.getMessage(), e);
-        }
-    }
-
     private void applyValidationMetadata(ChangeRequest changeRequest, ValidationContext validationContext) {
         ChangeRequestValidationResponse validationResponse = validationContext.response();
         changeRequest.setValidationStatus(validationResponse.isSuccess() ? "SUCCESS" : "FAILED");
@@ -2,9 +2,12 @@ package rule.engine.org.app.api.controller;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import rule.engine.org.app.api.request.RuleOutputRequest;
@@ -12,6 +15,9 @@ import rule.engine.org.app.api.request.CreateRuleRequest;
 import rule.engine.org.app.api.request.UpdateRuleRequest;
 import rule.engine.org.app.api.request.RestoreVersionRequest;
 import rule.engine.org.app.api.request.ConditionsGroup;
+import rule.engine.org.app.api.request.ExecutionCursor;
+import rule.engine.org.app.api.request.RuleImportReader;
+import rule.engine.org.app.api.mapper.FactBinders;
 import rule.engine.org.app.api.response.RuleExecutionResponse;
 import rule.engine.org.app.api.response.RuleExecuteResponse;
 import rule.engine.org.app.api.response.ErrorResponse;
@@ -25,7 +31,6 @@ import rule.engine.org.app.domain.entity.ui.DecisionRule;
 import rule.engine.org.app.domain.entity.ui.FactType;
 import rule.engine.org.app.domain.entity.ui.RuleStatus;
 import rule.engine.org.app.domain.entity.security.UserRole;
-import rule.engine.org.app.domain.entity.ui.RuleExecutionResult;
 import rule.engine.org.app.domain.entity.ui.RuleConditionGroup;
 import rule.engine.org.app.domain.entity.ui.RuleCondition;
 import rule.engine.org.app.domain.entity.ui.RuleOutput;
@@ -34,13 +39,16 @@ import rule.engine.org.app.domain.entity.ui.RuleGroupType;
 import rule.engine.org.app.domain.entity.ui.RuleOperatorType;
 import rule.engine.org.app.domain.entity.ui.RuleValueType;
 import rule.engine.org.app.domain.repository.DecisionRuleRepository;
+import rule.engine.org.app.domain.repository.ExecutionHistoryRow;
 import rule.engine.org.app.domain.repository.RuleExecutionResultRepository;
 import rule.engine.org.app.domain.repository.RuleConditionGroupRepository;
 import rule.engine.org.app.domain.repository.RuleConditionRepository;
 import rule.engine.org.app.domain.repository.RuleOutputRepository;
 import rule.engine.org.app.domain.repository.RuleOutputGroupRepository;
 import rule.engine.org.app.domain.repository.KieContainerVersionRepository;
+import rule.engine.org.app.domain.service.ExecutionArchive;
 import rule.engine.org.app.domain.service.RuleEngineManager;
+import rule.engine.org.app.domain.service.RuleFireCounter;
 import rule.engine.org.app.domain.service.RuleVersionService;
 import rule.engine.org.app.domain.service.AIRuleGeneratorService;
 import rule.engine.org.app.domain.service.UserDisplayNameService;
@@ -61,10 +69,14 @@ import rule.engine.org.app.util.EntityScannerService;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -72,10 +84,20 @@ import java.util.stream.Collectors;
 public class RuleController {
 
     private static final Logger log = LoggerFactory.getLogger(RuleController.class);
+    
+    // Execution history pages: largest page served, and the response header carrying the next page's cursor
+    private static final int MAX_EXECUTION_PAGE_SIZE = 1000;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_FIRE_COUNT_IDS = 1000;
+    // Rule names per duplicate-name query of an import
+    private static final int IMPORT_NAME_CHUNK = 1000;
 
     private final DecisionRuleRepository decisionRuleRepository;
     private final RuleExecutionResultRepository executionResultRepository;
     private final RuleEngineManager ruleEngineManager;
+    private final rule.engine.org.app.domain.service.ExecutionResultWriter executionResultWriter;
+    private final RuleFireCounter ruleFireCounter;
+    private final ExecutionArchive executionArchive;
     private final RuleVersionService ruleVersionService;
     private final RuleConditionGroupRepository conditionGroupRepository;
     private final RuleConditionRepository conditionRepository;
@@ -85,10 +107,24 @@ public class RuleController {
     private final AIRuleGeneratorService aiRuleGeneratorService;
     private final EntityScannerService entityScannerService;
     private final UserDisplayNameService userDisplayNameService;
+    private final FactBinders factBinders;
+
+    // Shared mapper for batch response streaming (thread-safe once configured)
+    private final com.fasterxml.jackson.databind.ObjectMapper entityMapper = new com.fasterxml.jackson.databind.ObjectMapper()
+        .configure(com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        // Support Java 8 date/time (LocalDate, LocalDateTime)
+        .registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule())
+        .configure(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+
+    // Converts stored rule outputs; strict about unknown properties
+    private static final com.fasterxml.jackson.databind.ObjectMapper OUTPUT_MAPPER = new com.fasterxml.jackson.databind.ObjectMapper();
 
     public RuleController(DecisionRuleRepository decisionRuleRepository,
                         RuleExecutionResultRepository executionResultRepository,
                         RuleEngineManager ruleEngineManager,
+                        rule.engine.org.app.domain.service.ExecutionResultWriter executionResultWriter,
+                        RuleFireCounter ruleFireCounter,
+                        ExecutionArchive executionArchive,
                         RuleVersionService ruleVersionService,
                         RuleConditionGroupRepository conditionGroupRepository,
                         RuleConditionRepository conditionRepository,
@@ -97,10 +133,14 @@ public class RuleController {
                         KieContainerVersionRepository containerVersionRepository,
                         AIRuleGeneratorService aiRuleGeneratorService,
                         EntityScannerService entityScannerService,
-                        UserDisplayNameService userDisplayNameService) {
+                        UserDisplayNameService userDisplayNameService,
+                        FactBinders factBinders) {
         this.decisionRuleRepository = decisionRuleRepository;
         this.executionResultRepository = executionResultRepository;
         this.ruleEngineManager = ruleEngineManager;
+        this.executionResultWriter = executionResultWriter;
+        this.ruleFireCounter = ruleFireCounter;
+        this.executionArchive = executionArchive;
         this.ruleVersionService = ruleVersionService;
         this.conditionGroupRepository = conditionGroupRepository;
         this.conditionRepository = conditionRepository;
@@ -110,6 +150,7 @@ public class RuleController {
         this.aiRuleGeneratorService = aiRuleGeneratorService;
         this.entityScannerService = entityScannerService;
         this.userDisplayNameService = userDisplayNameService;
+        this.factBinders = factBinders;
     }
 
     @GetMapping
@@ -127,26 +168,35 @@ public class RuleController {
      * Execute rules with entity data (Declaration, CargoReport, Traveler, etc.)
      * This endpoint accepts entity data and fires all matching rules
      * Supports testing with a specific version by passing "version" parameter
+     * The body is bound straight to the entity of its "factType" (default Declaration) by FactBinders
      * IMPORTANT: This endpoint must be placed BEFORE endpoints with path variables like /{id} or /{ruleId}/executions
      * to avoid path matching conflicts (Spring may match /execute with /{ruleId}/executions)
      */
     @PostMapping(value = "/execute", consumes = org.springframework.http.MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> executeRules(
-            @RequestBody Map<String, Object> entityData,
+            jakarta.servlet.http.HttpServletRequest request,
             @RequestParam(required = false) Long version,
             @RequestHeader(value = "X-Execution-Source", required = false, defaultValue = "API") String executionSource) {
+        // Bind the body to the entity of its fact type (default "Declaration"). Binding failures
+        // (malformed JSON, a non-object body, an unknown factType, unconvertible values) are client errors
+        FactBinders.BoundFact bound;
+        try {
+            bound = factBinders.read(request.getInputStream());
+        } catch (Exception e) {
+            return invalidExecutionBody(e);
+        }
+        if (bound.error() != null) {
+            return invalidExecutionBody(bound.error());
+        }
+        
         try {
             // Validate execution source
             if (!executionSource.equals("API") && !executionSource.equals("UI")) {
                 executionSource = "API"; // Default to API if invalid
             }
             
-            // Get fact type from entity data or default to "Declaration"
-            String factTypeStr = (String) entityData.getOrDefault("factType", "Declaration");
-            FactType factType = FactType.fromValue(factTypeStr);
-            
-            // Convert map to entity using generic builder
-            Object entity = buildEntityFromMap(entityData, factType);
+            FactType factType = bound.factType();
+            Object entity = bound.entity();
             
             // Extract identifier from entity
             String entityId = extractEntityIdentifier(entity, factType);
@@ -162,8 +212,8 @@ public class RuleController {
                 results = ruleEngineManager.fireRules(factType.getValue(), entity);
             }
             
-            // Save execution results with source tracking
-            saveExecutionResults(entityId, factType, results, executionSource);
+            // Queue execution results for write-behind persistence with source tracking
+            executionResultWriter.submit(entityId, factType, results, executionSource);
             
             // Build response using DTO factory method
             RuleExecuteResponse response = RuleExecuteResponse.from(results, entityId);
@@ -180,6 +230,132 @@ public class RuleController {
                 .body(errorResponse);
         }
     }
+    
+    private static ResponseEntity<ErrorResponse> invalidExecutionBody(Exception e) {
+        log.warn("Invalid execution body: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(ErrorResponse.builder()
+            .success(false)
+            .error("Invalid body: " + e.getMessage())
+            .errorType(e.getClass().getName())
+            .build());
+    }
+
+    /**
+     * Execute rules for many entities in one call (JSON array or NDJSON body, mixed fact types).
+     * Entities are grouped by fact type and each group is executed in parallel against one
+     * leased container. Results are streamed back in input order, as a JSON array or NDJSON
+     * matching the request content type. The rule hits of each entity are queued for write-behind
+     * persistence as soon as its execution completes, independent of the response stream.
+     * Entities that cannot be converted get an error entry at their position instead of failing the batch.
+     */
+    @PostMapping(value = "/execute/batch", consumes = {
+            org.springframework.http.MediaType.APPLICATION_JSON_VALUE,
+            org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> executeRulesBatch(
+            jakarta.servlet.http.HttpServletRequest request,
+            @RequestHeader(value = "X-Execution-Source", required = false, defaultValue = "API") String executionSource) {
+        String source = executionSource.equals("API") || executionSource.equals("UI") ? executionSource : "API";
+        boolean ndjson = request.getContentType() != null
+            && request.getContentType().startsWith(org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE);
+        
+        // Bind every entity up front (root JSON array or whitespace-separated objects)
+        List<BatchExecutionItem> items = new ArrayList<>();
+        try {
+            for (FactBinders.BoundFact bound : factBinders.readAll(request.getInputStream())) {
+                items.add(toBatchItem(bound));
+            }
+        } catch (Exception e) {
+            log.warn("Invalid batch execution body: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ErrorResponse.builder()
+                .success(false)
+                .error("Invalid batch body: " + e.getMessage())
+                .errorType(e.getClass().getName())
+                .build());
+        }
+        
+        // Group by fact type; each group runs on the engine's batch executor
+        Map<FactType, List<BatchExecutionItem>> groups = items.stream()
+            .filter(item -> item.entity != null)
+            .collect(Collectors.groupingBy(item -> item.factType, () -> new java.util.EnumMap<>(FactType.class), Collectors.toList()));
+        groups.forEach((factType, group) -> {
+            List<java.util.concurrent.CompletableFuture<rule.engine.org.app.domain.entity.execution.TotalRuleResults>> futures =
+                ruleEngineManager.fireRulesBatch(factType.getValue(), group.stream().map(item -> item.entity).toList());
+            for (int i = 0; i < group.size(); i++) {
+                BatchExecutionItem item = group.get(i);
+                item.results = futures.get(i);
+                // Queued as each execution completes, whether or not the client reads the whole response
+                item.results.thenAccept(results -> executionResultWriter.submit(item.entityId, item.factType, results, source));
+            }
+        });
+        
+        org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody body = outputStream -> {
+            com.fasterxml.jackson.core.JsonGenerator generator = entityMapper.getFactory().createGenerator(outputStream);
+            if (ndjson) {
+                generator.setRootValueSeparator(new com.fasterxml.jackson.core.io.SerializedString("\n"));
+            } else {
+                generator.writeStartArray();
+            }
+            // Write in input order as results complete
+            for (BatchExecutionItem item : items) {
+                entityMapper.writeValue(generator, toBatchResponse(item));
+            }
+            if (ndjson) {
+                generator.writeRaw('\n');
+            } else {
+                generator.writeEndArray();
+            }
+            generator.flush();
+        };
+        
+        return ResponseEntity.ok()
+            .contentType(ndjson ? org.springframework.http.MediaType.APPLICATION_NDJSON : org.springframework.http.MediaType.APPLICATION_JSON)
+            .body(body);
+    }
+    
+    /**
+     * One entity of a batch execution request
+     */
+    private static class BatchExecutionItem {
+        FactType factType;
+        Object entity;
+        String entityId;
+        Exception error;
+        java.util.concurrent.CompletableFuture<rule.engine.org.app.domain.entity.execution.TotalRuleResults> results;
+    }
+    
+    private BatchExecutionItem toBatchItem(FactBinders.BoundFact bound) {
+        BatchExecutionItem item = new BatchExecutionItem();
+        item.factType = bound.factType();
+        item.error = bound.error();
+        if (item.error != null) {
+            return item;
+        }
+        try {
+            item.entity = bound.entity();
+            item.entityId = extractEntityIdentifier(item.entity, item.factType);
+        } catch (Exception e) {
+            item.entity = null;
+            item.error = e;
+        }
+        return item;
+    }
+    
+    private Object toBatchResponse(BatchExecutionItem item) {
+        Throwable error = item.error;
+        if (error == null) {
+            try {
+                return RuleExecuteResponse.from(item.results.join(), item.entityId);
+            } catch (java.util.concurrent.CompletionException e) {
+                error = e.getCause() != null ? e.getCause() : e;
+                log.error("Error executing rules for batch entity {}", item.entityId, error);
+            }
+        }
+        return ErrorResponse.builder()
+            .success(false)
+            .error(error.getMessage())
+            .errorType(error.getClass().getName())
+            .build();
+    }
 
     /**
      * Batch AI-powered rule generation endpoint.
@@ -536,6 +712,140 @@ public class RuleController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Bulk import of rules (JSON array or NDJSON body of CreateRuleRequest), for loads of thousands
+     * of rules. Unlike /batch, taken names are looked up in one query per chunk of names, rows are
+     * written with JDBC batch inserts at the end of the transaction (ids come from pooled sequences,
+     * see V17), and the imported rules are compiled once per fact type. Rules that fail validation
+     * (taken or repeated name, no content) are reported per item and skipped; if the imported rules
+     * do not compile, nothing is imported and the compilation error is returned.
+     */
+    @PostMapping(value = "/import", consumes = {
+            org.springframework.http.MediaType.APPLICATION_JSON_VALUE,
+            org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE})
+    @org.springframework.transaction.annotation.Transactional
+    public ResponseEntity<?> importRules(jakarta.servlet.http.HttpServletRequest request) {
+        List<CreateRuleRequest> ruleRequests;
+        try {
+            ruleRequests = RuleImportReader.readAll(entityMapper, request.getInputStream());
+        } catch (Exception e) {
+            log.warn("Invalid rule import body: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ErrorResponse.builder()
+                .success(false)
+                .error("Invalid import body: " + e.getMessage())
+                .errorType(e.getClass().getName())
+                .build());
+        }
+        if (ruleRequests.isEmpty()) {
+            return ResponseEntity.badRequest().body(ErrorResponse.builder()
+                .success(false)
+                .error("Rules list cannot be empty")
+                .errorType("ValidationException")
+                .build());
+        }
+        
+        // Names already used by latest rule versions; names imported below are added as they are taken
+        List<String> names = ruleRequests.stream()
+            .map(CreateRuleRequest::getRuleName)
+            .filter(java.util.Objects::nonNull)
+            .distinct()
+            .toList();
+        Set<String> takenNames = new java.util.HashSet<>();
+        for (int from = 0; from < names.size(); from += IMPORT_NAME_CHUNK) {
+            takenNames.addAll(decisionRuleRepository.findLatestRuleNames(
+                names.subList(from, Math.min(names.size(), from + IMPORT_NAME_CHUNK))));
+        }
+        
+        List<BatchCreateRulesResponse.RuleSaveResult> results = new ArrayList<>(ruleRequests.size());
+        Map<FactType, List<DecisionRule>> importedByFactType = new java.util.EnumMap<>(FactType.class);
+        int failed = 0;
+        for (int i = 0; i < ruleRequests.size(); i++) {
+            CreateRuleRequest ruleRequest = ruleRequests.get(i);
+            BatchCreateRulesResponse.RuleSaveResult result = BatchCreateRulesResponse.RuleSaveResult.builder()
+                .index(i)
+                .ruleName(ruleRequest.getRuleName())
+                .success(false)
+                .build();
+            results.add(result);
+            
+            DecisionRule rule;
+            String ruleContent;
+            try {
+                rule = buildRuleFromRequest(ruleRequest);
+                ruleContent = buildCompleteDrlFromRequest(ruleRequest, rule);
+            } catch (Exception e) {
+                result.setError(e.getMessage() != null ? e.getMessage() : "Failed to create rule: " + e.getClass().getSimpleName());
+                result.setErrorType(e.getClass().getSimpleName());
+                failed++;
+                continue;
+            }
+            if (rule.getRuleName() != null && !takenNames.add(rule.getRuleName())) {
+                result.setError("Rule name already exists: " + rule.getRuleName());
+                result.setErrorType("ValidationException");
+                failed++;
+                continue;
+            }
+            if (ruleContent == null || ruleContent.isBlank()) {
+                result.setError("Failed to generate rule content: conditions or output are required");
+                result.setErrorType("ValidationException");
+                failed++;
+                continue;
+            }
+            
+            // Persisting assigns the id without an insert; the DRL embeds it, so it is built again
+            // before the flush writes the rule
+            DecisionRule saved = decisionRuleRepository.save(rule);
+            saved.setRuleContent(buildCompleteDrlFromRequest(ruleRequest, saved));
+            if (ruleRequest.getConditions() != null && !ruleRequest.getConditions().isEmpty()) {
+                addRuleConditions(saved, ruleRequest.getConditions());
+            }
+            addRuleOutputs(saved, ruleRequest.getOutput());
+            
+            result.setSuccess(true);
+            result.setRuleId(saved.getId());
+            importedByFactType.computeIfAbsent(saved.getFactType(), key -> new ArrayList<>()).add(saved);
+        }
+        
+        // One compilation per fact type for all imported rules
+        for (Map.Entry<FactType, List<DecisionRule>> entry : importedByFactType.entrySet()) {
+            Map<String, Object> validation = ruleEngineManager.validateRulesBuild(entry.getKey().getValue(), entry.getValue());
+            try {
+                if (!Boolean.TRUE.equals(validation.get("success"))) {
+                    org.springframework.transaction.interceptor.TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                    Object errorDetails = validation.get("errorDetails");
+                    return ResponseEntity.badRequest().body(ErrorResponse.builder()
+                        .success(false)
+                        .error("Imported " + entry.getKey().getValue() + " rules do not compile: "
+                            + (errorDetails != null ? errorDetails : validation.get("error")))
+                        .errorType(String.valueOf(validation.getOrDefault("errorType", "RuleCompilationException")))
+                        .build());
+                }
+            } finally {
+                ruleEngineManager.disposeTemporaryContainer(validation);
+            }
+        }
+        
+        // Write the batched inserts, then rebuild once per fact type
+        decisionRuleRepository.flush();
+        for (FactType factType : importedByFactType.keySet()) {
+            try {
+                ruleEngineManager.rebuildRules(factType.getValue());
+            } catch (Exception ex) {
+                log.error("Failed to rebuild rules for fact type {}: {}", factType, ex.getMessage(), ex);
+                // Continue even if rebuild fails - rules are already saved
+            }
+        }
+        
+        BatchCreateRulesResponse response = BatchCreateRulesResponse.builder()
+            .success(failed == 0)
+            .total(ruleRequests.size())
+            .successful(ruleRequests.size() - failed)
+            .failed(failed)
+            .results(results)
+            .build();
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping
     @org.springframework.transaction.annotation.Transactional
     public ResponseEntity<?> createRule(@RequestBody CreateRuleRequest request) {
@@ -1150,6 +1460,22 @@ public class RuleController {
         }
     }
 
+    /**
+     * Get hit/miss/eviction statistics of the compiled historical-version container cache
+     */
+    @GetMapping("/containers/version-cache")
+    public ResponseEntity<Map<String, Object>> getVersionCacheStats() {
+        return ResponseEntity.ok(ruleEngineManager.getVersionCacheStats());
+    }
+
+    /**
+     * Get counts and estimated retained bytes of the KieModules held in the KieRepository
+     */
+    @GetMapping("/containers/modules")
+    public ResponseEntity<Map<String, Object>> getModuleRetentionStats() {
+        return ResponseEntity.ok(ruleEngineManager.getModuleRetentionStats());
+    }
+
     @GetMapping("/active")
     public List<DecisionRule> getActiveRules(@AuthenticationPrincipal UserPrincipal currentUser) {
         String userId = requireUserId(currentUser);
@@ -1177,73 +1503,6 @@ public class RuleController {
         return ResponseEntity.ok(metadata);
     }
     
-    /**
-     * Build entity from map data using Jackson ObjectMapper (generic method)
-     * This automatically maps all fields from Map to the appropriate entity class
-     * Unknown properties (like factType) are automatically ignored
-     */
-    private Object buildEntityFromMap(Map<String, Object> data, FactType factType) {
-        try {
-            // Get the main entity class for this fact type
-            Class<?> entityClass = entityScannerService.getMainEntityClass(factType);
-            if (entityClass == null) {
-                throw new IllegalArgumentException("No entity class found for FactType: " + factType);
-            }
-            
-            // Pre-process data: convert array fields to JSON strings and normalize field names for Traveler entity
-            if (factType == FactType.TRAVELER) {
-                Map<String, Object> processedData = new java.util.HashMap<>();
-                
-                // Normalize field names: convert "ID" to "Id" (camelCase) and handle arrays
-                for (Map.Entry<String, Object> entry : data.entrySet()) {
-                    String key = entry.getKey();
-                    Object value = entry.getValue();
-                    
-                    // Normalize field names ending with "ID" to "Id" for camelCase compatibility
-                    if (key.endsWith("ID") && key.length() > 2) {
-                        key = key.substring(0, key.length() - 2) + "Id";
-                    }
-                    
-                    // Convert array fields to JSON strings
-                    if (value instanceof java.util.List) {
-                        if (key.equals("otherGivenNames") || key.equals("baggageTagIds")) {
-                            try {
-                                com.fasterxml.jackson.databind.ObjectMapper tempMapper = new com.fasterxml.jackson.databind.ObjectMapper();
-                                String jsonString = tempMapper.writeValueAsString(value);
-                                processedData.put(key, jsonString);
-                            } catch (Exception e) {
-                                log.warn("Failed to convert {} to JSON string: {}", key, e.getMessage());
-                                processedData.put(key, "[]");
-                            }
-                        } else {
-                            // For other arrays (like itineraryLegs), keep as is for Jackson to handle
-                            processedData.put(key, value);
-                        }
-                    } else {
-                        processedData.put(key, value);
-                    }
-                }
-                
-                data = processedData;
-            }
-            
-            // Use Jackson ObjectMapper to automatically convert Map to entity
-            // Configure to ignore unknown properties (like factType which is not a field of entity)
-            com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            mapper.configure(com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-            // Support Java 8 date/time (LocalDate, LocalDateTime)
-            mapper.registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule());
-            mapper.configure(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-            
-            Object entity = mapper.convertValue(data, entityClass);
-            
-            return entity;
-        } catch (Exception e) {
-            log.error("Error converting Map to entity for FactType {}: {}", factType, e.getMessage(), e);
-            throw new IllegalArgumentException("Invalid entity data for " + factType + ": " + e.getMessage(), e);
-        }
-    }
-    
     /**
      * Extract identifier from entity based on fact type
      * Uses reflection to get the appropriate ID field (declarationId, reportId, travelerId, etc.)
@@ -1293,198 +1552,17 @@ public class RuleController {
         }
     }
     
-    /**
-     * Build Declaration entity from map data using Jackson ObjectMapper
-     * This automatically maps all fields from Map to Declaration entity
-     * Unknown properties (like factType) are automatically ignored
-     * @deprecated Use buildEntityFromMap instead
-     */
-    @Deprecated
-    private rule.engine.org.app.domain.entity.execution.declaration.Declaration buildDeclarationFromMap(
-            Map<String, Object> data) {
-        try {
-            // Use Jackson ObjectMapper to automatically convert Map to Declaration
-            // Configure to ignore unknown properties (like factType which is not a field of Declaration entity)
-            com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            mapper.configure(com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-            
-            rule.engine.org.app.domain.entity.execution.declaration.Declaration declaration = 
-                mapper.convertValue(data, rule.engine.org.app.domain.entity.execution.declaration.Declaration.class);
-            
-            return declaration;
-        } catch (Exception e) {
-            log.error("Error converting Map to Declaration: {}", e.getMessage(), e);
-            throw new IllegalArgumentException("Invalid Declaration data: " + e.getMessage(), e);
-        }
-    }
-    
-    /**
-     * Save execution results for all active rules with source tracking
-     * Matches rules to hits by checking if rule name appears in hit result messages
-     */
-    @org.springframework.transaction.annotation.Transactional
-    private void saveExecutionResults(
-            String declarationId,
-            FactType factType,
-            rule.engine.org.app.domain.entity.execution.TotalRuleResults results,
-            String executionSource) {
-        try {
-            // Get all active and latest rules for this fact type
-            List<DecisionRule> activeRules = decisionRuleRepository
-                .findByFactTypeAndIsLatestTrueAndStatusOrderByPriorityAsc(factType, RuleStatus.ACTIVE);
-            
-            if (activeRules.isEmpty()) {
-                log.debug("No active rules found for fact type {}, skipping execution result saving", factType);
-                return;
-            }
-            
-            // Create a map of rule names to rules for quick lookup
-            Map<String, DecisionRule> ruleMap = activeRules.stream()
-                .collect(Collectors.toMap(DecisionRule::getRuleName, rule -> rule, (existing, replacement) -> existing));
-            
-            // Create a set of rule IDs that produced hits
-            // First try to match by rule ID in description (more reliable)
-            // Fallback to matching by rule name in result message (for backward compatibility)
-            java.util.Set<Long> matchedRuleIds = new java.util.HashSet<>();
-            java.util.Set<String> matchedRuleNames = new java.util.HashSet<>();
-            
-            if (results.getHits() != null) {
-                for (rule.engine.org.app.domain.entity.execution.RuleOutputHit hit : results.getHits()) {
-                    // First, try to match by rule ID in description (format: "RULE_ID:123")
-                    if (hit.getDescription() != null && hit.getDescription().contains("RULE_ID:")) {
-                        try {
-                            String desc = hit.getDescription();
-                            int startIdx = desc.indexOf("RULE_ID:") + 8;
-                            int endIdx = desc.indexOf(" ", startIdx);
-                            if (endIdx == -1) endIdx = desc.length();
-                            String ruleIdStr = desc.substring(startIdx, endIdx).trim();
-                            Long ruleId = Long.parseLong(ruleIdStr);
-                            matchedRuleIds.add(ruleId);
-                            continue; // Found by ID, skip name matching
-                        } catch (Exception e) {
-                            log.debug("Failed to parse rule ID from description: {}", hit.getDescription(), e);
-                        }
-                    }
-                    
-                    // Fallback: match by rule name in result message (for backward compatibility)
-                    if (hit.getResult() != null) {
-                        for (String ruleName : ruleMap.keySet()) {
-                            if (hit.getResult().contains(ruleName)) {
-                                matchedRuleNames.add(ruleName);
-                                break; // Found a match, no need to check other rules
-                            }
-                        }
-                    }
-                }
-            }
-            
-            // Save execution results ONLY for rules that hit (matched = true)
-            // This saves storage and focuses on actual rule matches
-            java.time.LocalDateTime executedAt = results.getRunAt() != null 
-                ? results.getRunAt() 
-                : java.time.LocalDateTime.now();
-            
-            int savedCount = 0;
-            
-            // Save results for rules matched by ID
-            for (Long ruleId : matchedRuleIds) {
-                DecisionRule rule = decisionRuleRepository.findById(ruleId).orElse(null);
-                if (rule == null || !rule.getFactType().equals(factType) || !rule.getIsLatest() || rule.getStatus() != RuleStatus.ACTIVE) {
-                    continue; // Skip if rule not found or not active
-                }
-                
-                // Find the corresponding hit for this rule by ID
-                rule.engine.org.app.domain.entity.execution.RuleOutputHit matchingHit = null;
-                if (results.getHits() != null) {
-                    for (rule.engine.org.app.domain.entity.execution.RuleOutputHit hit : results.getHits()) {
-                        if (hit.getDescription() != null && hit.getDescription().contains("RULE_ID:" + ruleId)) {
-                            matchingHit = hit;
-                            break;
-                        }
-                    }
-                }
-                
-                RuleExecutionResult executionResult = new RuleExecutionResult();
-                executionResult.setDeclarationId(declarationId);
-                executionResult.setDecisionRule(rule);
-                executionResult.setMatched(true);
-                executionResult.setExecutedAt(executedAt);
-                executionResult.setExecutionSource(executionSource);
-                
-                if (matchingHit != null) {
-                    executionResult.setRuleAction(matchingHit.getAction());
-                    executionResult.setRuleResult(matchingHit.getResult());
-                    executionResult.setRuleScore(matchingHit.getScore());
-                } else {
-                    executionResult.setRuleAction("FLAG");
-                    executionResult.setRuleResult("Rule '" + rule.getRuleName() + "' matched");
-                }
-                
-                executionResultRepository.save(executionResult);
-                savedCount++;
-            }
-            
-            // Save results for rules matched by name (backward compatibility)
-            for (String matchedRuleName : matchedRuleNames) {
-                DecisionRule rule = ruleMap.get(matchedRuleName);
-                if (rule == null) {
-                    continue; // Skip if rule not found
-                }
-                
-                // Skip if already saved by ID
-                if (matchedRuleIds.contains(rule.getId())) {
-                    continue;
-                }
-                
-                // Find the corresponding hit for this rule to get action, result, and score
-                rule.engine.org.app.domain.entity.execution.RuleOutputHit matchingHit = null;
-                if (results.getHits() != null) {
-                    for (rule.engine.org.app.domain.entity.execution.RuleOutputHit hit : results.getHits()) {
-                        if (hit.getResult() != null && hit.getResult().contains(rule.getRuleName())) {
-                            matchingHit = hit;
-                            break;
-                        }
-                    }
-                }
-                
-                RuleExecutionResult executionResult = new RuleExecutionResult();
-                executionResult.setDeclarationId(declarationId);
-                executionResult.setDecisionRule(rule);
-                executionResult.setMatched(true); // Only save matched rules
-                executionResult.setExecutedAt(executedAt);
-                executionResult.setExecutionSource(executionSource);
-                
-                if (matchingHit != null) {
-                    executionResult.setRuleAction(matchingHit.getAction());
-                    executionResult.setRuleResult(matchingHit.getResult());
-                    executionResult.setRuleScore(matchingHit.getScore());
-                } else {
-                    // Rule matched but no specific hit found, use defaults
-                    executionResult.setRuleAction("FLAG");
-                    executionResult.setRuleResult("Rule '" + rule.getRuleName() + "' matched");
-                }
-                
-                executionResultRepository.save(executionResult);
-                savedCount++;
-            }
-            
-            log.debug("Saved execution results for {} rules that hit (out of {} total active rules) with source {}", 
-                savedCount, activeRules.size(), executionSource);
-        } catch (Exception e) {
-            log.error("Error saving execution results for declaration {}", declarationId, e);
-            // Don't throw exception - execution results saving should not fail the request
-        }
-    }
-    
     /**
      * Get all execution history (for current user's rules)
-     * Supports filtering by execution source and pagination
+     * Supports filtering by execution source. Pages are read newest first: pass the
+     * X-Next-Cursor header of a response as the cursor parameter to read the next page.
      */
     @GetMapping("/executions")
     public ResponseEntity<List<RuleExecutionResponse>> getAllExecutions(
             @AuthenticationPrincipal UserPrincipal currentUser,
             @RequestParam(required = false) String source,
-            @RequestParam(required = false, defaultValue = "100") Integer limit) {
+            @RequestParam(required = false, defaultValue = "100") Integer limit,
+            @RequestParam(required = false) String cursor) {
         // Debug logging - try to get user from SecurityContext as fallback
         org.springframework.security.core.Authentication auth = 
             org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
@@ -1507,65 +1585,129 @@ public class RuleController {
         
         String userId = requireUserId(currentUser);
         
-        // Query execution results for user's rules with optional source filter
-        List<RuleExecutionResult> results = executionResultRepository
-            .findByUserRulesAndSource(userId, source);
+        // Query a page of execution results for user's rules with optional source filter
+        ResponseEntity<List<RuleExecutionResponse>> page = executionPage(cursor, limit,
+            (beforeAt, beforeId, pageable) -> executionResultRepository
+                .findHistoryByUserRulesAndSource(userId, source, beforeAt, beforeId, pageable));
         
-        // Apply limit and convert to response
-        List<RuleExecutionResponse> responses = results.stream()
-            .limit(limit != null ? limit : 100)
-            .map(this::toExecutionResponse)
-            .collect(Collectors.toList());
-        
-        log.debug("getAllExecutions returning {} results for user {}", responses.size(), userId);
-        return ResponseEntity.ok(responses);
+        log.debug("getAllExecutions returning {} results for user {}", page.getBody().size(), userId);
+        return page;
     }
     
     /**
-     * Get execution history for a specific declaration
+     * Get execution history for a specific declaration (newest first, paged like /executions)
      */
     @GetMapping("/executions/declaration/{declarationId}")
     public ResponseEntity<List<RuleExecutionResponse>> getExecutionsByDeclaration(
             @PathVariable String declarationId,
-            @AuthenticationPrincipal UserPrincipal currentUser) {
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @RequestParam(required = false, defaultValue = "100") Integer limit,
+            @RequestParam(required = false) String cursor) {
         String userId = requireUserId(currentUser);
-        List<RuleExecutionResult> results = executionResultRepository.findByDeclarationId(declarationId);
-        List<RuleExecutionResponse> responses = results.stream()
-            .filter(result -> result.getDecisionRule() != null
-                    && userId.equals(result.getDecisionRule().getCreatedBy()))
-            .map(this::toExecutionResponse)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+        return executionPage(cursor, limit, (beforeAt, beforeId, pageable) -> executionResultRepository
+            .findHistoryByDeclaration(declarationId, userId, beforeAt, beforeId, pageable));
     }
 
     /**
-     * Get execution history for a specific rule
+     * Get execution history for a specific rule (newest first, paged like /executions)
      */
     @GetMapping("/{ruleId}/executions")
     public ResponseEntity<List<RuleExecutionResponse>> getExecutionsByRule(
             @PathVariable Long ruleId,
-            @AuthenticationPrincipal UserPrincipal currentUser) {
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @RequestParam(required = false, defaultValue = "100") Integer limit,
+            @RequestParam(required = false) String cursor) {
         enforceRuleOwnership(ruleId, currentUser);
-        List<RuleExecutionResult> results = executionResultRepository.findByDecisionRuleId(ruleId);
-        List<RuleExecutionResponse> responses = results.stream()
-            .map(this::toExecutionResponse)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+        return executionPage(cursor, limit, (beforeAt, beforeId, pageable) -> executionResultRepository
+            .findHistoryByRule(ruleId, beforeAt, beforeId, pageable));
     }
 
     /**
-     * Get declarations flagged by a specific rule
+     * Get declarations flagged by a specific rule (newest first, paged like /executions)
      */
     @GetMapping("/{ruleId}/flagged")
     public ResponseEntity<List<RuleExecutionResponse>> getFlaggedByRule(
             @PathVariable Long ruleId,
-            @AuthenticationPrincipal UserPrincipal currentUser) {
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @RequestParam(required = false, defaultValue = "100") Integer limit,
+            @RequestParam(required = false) String cursor) {
         enforceRuleOwnership(ruleId, currentUser);
-        List<RuleExecutionResult> results = executionResultRepository.findFlaggedByRule(ruleId);
-        List<RuleExecutionResponse> responses = results.stream()
-            .map(this::toExecutionResponse)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+        return executionPage(cursor, limit, (beforeAt, beforeId, pageable) -> executionResultRepository
+            .findFlaggedHistoryByRule(ruleId, beforeAt, beforeId, pageable));
+    }
+
+    /**
+     * Get archived execution history of a declaration: executions older than the retention period
+     * of the execution table, newest first. Narrow the days searched with from/to.
+     */
+    @GetMapping("/executions/archive/declaration/{declarationId}")
+    public ResponseEntity<List<RuleExecutionResponse>> getArchivedExecutionsByDeclaration(
+            @PathVariable String declarationId,
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false, defaultValue = "100") Integer limit) {
+        String userId = requireUserId(currentUser);
+        return ResponseEntity.ok(executionArchive
+            .findByDeclaration(declarationId, userId, from, to, archiveLimit(limit))
+            .stream().map(this::toExecutionResponse).toList());
+    }
+
+    /**
+     * Get archived execution history of a rule (see /executions/archive/declaration/{declarationId}).
+     * Non-administrators see the archived executions of rules they created, also of rules deleted since.
+     */
+    @GetMapping("/{ruleId}/executions/archive")
+    public ResponseEntity<List<RuleExecutionResponse>> getArchivedExecutionsByRule(
+            @PathVariable Long ruleId,
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false, defaultValue = "100") Integer limit) {
+        String createdBy = isAdministrator(currentUser) ? null : requireUserId(currentUser);
+        return ResponseEntity.ok(executionArchive
+            .findByRule(ruleId, createdBy, from, to, archiveLimit(limit))
+            .stream().map(this::toExecutionResponse).toList());
+    }
+
+    private static int archiveLimit(Integer limit) {
+        return Math.min(Math.max(limit != null ? limit : 100, 1), MAX_EXECUTION_PAGE_SIZE);
+    }
+
+    /**
+     * Query for one keyset page of execution history
+     */
+    @FunctionalInterface
+    private interface HistoryPageQuery {
+        List<ExecutionHistoryRow> find(LocalDateTime beforeAt, Long beforeId, Pageable pageable);
+    }
+
+    /**
+     * Read one page of execution history after the cursor. One row more than the limit is
+     * fetched to tell whether another page follows; if so, its cursor is sent in X-Next-Cursor.
+     */
+    private ResponseEntity<List<RuleExecutionResponse>> executionPage(String cursor, Integer limit, HistoryPageQuery query) {
+        ExecutionCursor position;
+        try {
+            position = ExecutionCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        int pageSize = Math.min(Math.max(limit != null ? limit : 100, 1), MAX_EXECUTION_PAGE_SIZE);
+        
+        List<ExecutionHistoryRow> rows = query.find(position.executedAt(), position.id(), PageRequest.ofSize(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<RuleExecutionResponse> responses = new ArrayList<>(Math.min(rows.size(), pageSize));
+        for (int i = 0; i < rows.size() && i < pageSize; i++) {
+            responses.add(toExecutionResponse(rows.get(i)));
+        }
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (hasMore) {
+            ExecutionHistoryRow last = rows.get(pageSize - 1);
+            response.header(NEXT_CURSOR_HEADER, new ExecutionCursor(last.executedAt(), last.id()).encode());
+        }
+        return response.body(responses);
     }
 
     /**
@@ -1576,8 +1718,26 @@ public class RuleController {
             @PathVariable Long ruleId,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         enforceRuleOwnership(ruleId, currentUser);
-        Long count = executionResultRepository.countRuleFires(ruleId);
-        return ResponseEntity.ok(count);
+        return ResponseEntity.ok(ruleFireCounter.fireCount(ruleId));
+    }
+
+    /**
+     * Get fire counts of several rules in one call, e.g. for the rule list.
+     * Rules that do not exist or belong to another user are left out of the result.
+     */
+    @GetMapping("/fire-counts")
+    public ResponseEntity<Map<Long, Long>> getRuleFireCounts(
+            @RequestParam List<Long> ids,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        if (ids.size() > MAX_FIRE_COUNT_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "At most " + MAX_FIRE_COUNT_IDS + " rule ids per request");
+        }
+        Set<Long> ruleIds = new LinkedHashSet<>(ids);
+        if (!isAdministrator(currentUser) && !ruleIds.isEmpty()) {
+            ruleIds = new LinkedHashSet<>(decisionRuleRepository.findIdsByIdInAndCreatedBy(ruleIds, requireUserId(currentUser)));
+        }
+        return ResponseEntity.ok(ruleFireCounter.fireCounts(ruleIds));
     }
 
     // ========== VERSION MANAGEMENT ENDPOINTS ==========
@@ -1615,6 +1775,7 @@ public class RuleController {
             .factType(rule.getFactType() != null ? rule.getFactType().getValue() : null)
             .ruleContent(rule.getRuleContent())
             .priority(rule.getPriority())
+            .partitionKey(rule.getPartitionKey())
             .status(rule.getStatus() != null ? rule.getStatus().name() : RuleStatus.DRAFT.name())
             .generatedByAi(rule.getGeneratedByAi())
             .version(rule.getVersion())
@@ -1664,18 +1825,18 @@ public class RuleController {
     // ========== HELPER METHODS ==========
     
     // Helper method to convert entity to DTO
-    private RuleExecutionResponse toExecutionResponse(RuleExecutionResult result) {
+    private RuleExecutionResponse toExecutionResponse(ExecutionHistoryRow row) {
         return new RuleExecutionResponse(
-            result.getId(),
-            result.getDeclarationId(),  // String identifier (not FK)
-            result.getDecisionRule().getId(),
-            result.getDecisionRule().getRuleName(),
-            result.getMatched(),
-            result.getRuleAction(),
-            result.getRuleResult(),
-            result.getRuleScore(),
-            result.getExecutedAt(),
-            result.getExecutionSource() != null ? result.getExecutionSource() : "API"  // Default to API if not set
+            row.id(),
+            row.declarationId(),  // String identifier (not FK)
+            row.ruleId(),
+            row.ruleName(),
+            row.matched(),
+            row.ruleAction(),
+            row.ruleResult(),
+            row.ruleScore(),
+            row.executedAt(),
+            row.executionSource() != null ? row.executionSource() : "API"  // Default to API if not set
         );
     }
 
@@ -1854,6 +2015,9 @@ public class RuleController {
         
         // Create RuleOutputHit and set fields
         then.append("    RuleOutputHit output = new RuleOutputHit();\n");
+        if (rule.getId() != null) {
+            then.append("    output.setRuleId(").append(rule.getId()).append("L);\n");
+        }
         
         String action = output.get("action") != null ? output.get("action").toString() : "FLAG";
         then.append("    output.setAction(\"").append(escapeJavaString(action)).append("\");\n");
@@ -1884,7 +2048,7 @@ public class RuleController {
             then.append("    output.setDocumentId(\"").append(escapeJavaString(output.get("documentId").toString())).append("\");\n");
         }
         // Always add rule ID to description for tracking which rule fired
-        // Format: "RULE_ID:123" to allow matching in saveExecutionResults
+        // Format: "RULE_ID:123" (kept for readers of the description; attribution uses ruleId)
         String ruleIdMarker = "RULE_ID:" + rule.getId();
         if (output.get("description") != null) {
             // Append rule ID marker to existing description
@@ -1934,8 +2098,7 @@ public class RuleController {
         // Use factType to extract correct fields
         FactType factTypeEnum = factType != null && !factType.isEmpty() 
             ? FactType.fromValue(factType) : FactType.DECLARATION;
-        Map<String, String> fieldTypeByName = RuleFieldExtractor.extractInputFields(factTypeEnum.getValue()).stream()
-            .collect(Collectors.toMap(FieldDefinition::getName, FieldDefinition::getType, (a, b) -> a));
+        Map<String, String> fieldTypeByName = RuleFieldExtractor.getInputFieldTypes(factTypeEnum);
 
         // Determine fact type variable and class name based on factType
         String factVariable;
@@ -2417,7 +2580,14 @@ public class RuleController {
             conditionRepository.deleteAll(conditionRepository.findByGroupOrderByOrderIndexAsc(group));
         }
         conditionGroupRepository.deleteAll(existingGroups);
-        
+        addRuleConditions(rule, conditionsGroup);
+    }
+    
+    /**
+     * Parse and save the conditions of a rule that has none yet. Runs no queries, so the inserts
+     * of a bulk import are batched until its flush.
+     */
+    private void addRuleConditions(DecisionRule rule, ConditionsGroup conditionsGroup) {
         if (conditionsGroup == null || conditionsGroup.isEmpty()) {
             return;
         }
@@ -2670,7 +2840,13 @@ public class RuleController {
         outputRepository.deleteAll(existingOutputs);
         List<RuleOutputGroup> existingGroups = outputGroupRepository.findByDecisionRuleIdOrderByOrderIndexAsc(rule.getId());
         outputGroupRepository.deleteAll(existingGroups);
-        
+        addRuleOutputs(rule, outputMap);
+    }
+    
+    /**
+     * Save the output of a rule that has none yet, without running queries.
+     */
+    private void addRuleOutputs(DecisionRule rule, Map<String, Object> outputMap) {
         if (outputMap != null) {
             // Create output group first
             RuleOutputGroup outputGroup = new RuleOutputGroup();
@@ -2680,8 +2856,7 @@ public class RuleController {
             outputGroup = outputGroupRepository.save(outputGroup);
             
             // Convert Map to DTO using ObjectMapper
-            com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            RuleOutputRequest outputRequest = mapper.convertValue(outputMap, RuleOutputRequest.class);
+            RuleOutputRequest outputRequest = OUTPUT_MAPPER.convertValue(outputMap, RuleOutputRequest.class);
             
             // Create RuleOutput entity from DTO
             RuleOutput ruleOutput = new RuleOutput();
@@ -2726,6 +2901,7 @@ public class RuleController {
             .factType(rule.getFactType() != null ? rule.getFactType().getValue() : null)
             .ruleContent(rule.getRuleContent())
             .priority(rule.getPriority())
+            .partitionKey(rule.getPartitionKey())
             .status(rule.getStatus() != null ? rule.getStatus().name() : RuleStatus.DRAFT.name())
             .generatedByAi(rule.getGeneratedByAi())
             .version(rule.getVersion())
@@ -0,0 +1,192 @@
+package rule.engine.org.app.api.mapper;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.stereotype.Component;
+import rule.engine.org.app.domain.fact.traveler.Traveler;
+import rule.engine.org.app.domain.entity.ui.FactType;
+import rule.engine.org.app.util.EntityScannerService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Binds request JSON straight to the execution fact of its fact type (Declaration, CargoReport,
+ * Traveler), without an intermediate Map. The fact class and its Jackson reader are resolved
+ * once per FactType and reused, so a request costs one pass over the body and no class lookups.
+ * The "factType" property picks the binder (Declaration when absent); properties before it are
+ * buffered as tokens and replayed, properties after it are bound from the stream directly.
+ */
+@Component
+public class FactBinders {
+
+    private static final String FACT_TYPE_PROPERTY = "factType";
+
+    /**
+     * One bound request entity.
+     * @param error conversion failure of this entity (entity is null), the stream is still usable
+     */
+    public record BoundFact(FactType factType, Object entity, Exception error) {
+    }
+
+    private final EntityScannerService entityScannerService;
+    private final ObjectMapper mapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        // Support Java 8 date/time (LocalDate, LocalDateTime)
+        .registerModule(new JavaTimeModule())
+        .addMixIn(Traveler.TravelerBuilder.class, TravelerBinding.class);
+
+    // Fact reader per fact type, resolved on first use
+    private final Map<FactType, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    public FactBinders(EntityScannerService entityScannerService) {
+        this.entityScannerService = entityScannerService;
+    }
+
+    /**
+     * Read a single fact object (the /execute body).
+     */
+    public BoundFact read(InputStream in) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Request body must be a JSON object");
+            }
+            return bind(parser);
+        }
+    }
+
+    /**
+     * Read every entity of a root JSON array or of whitespace/newline separated objects (NDJSON).
+     * An entity that cannot be converted yields a BoundFact with its error; malformed JSON fails the whole read.
+     */
+    public List<BoundFact> readAll(InputStream in) throws IOException {
+        List<BoundFact> facts = new ArrayList<>();
+        try (JsonParser parser = mapper.getFactory().createParser(in)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("Expected a JSON object but found " + token);
+                }
+                facts.add(bind(parser));
+                token = parser.nextToken();
+            }
+        }
+        return facts;
+    }
+
+    /**
+     * Convert already parsed entity data (e.g. a stored request) with the binder of its fact type.
+     */
+    public Object convert(Map<String, Object> data, FactType factType) {
+        try {
+            return mapper.convertValue(data, factClass(factType));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid entity data for " + factType + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Bind the object whose START_OBJECT is the current token. On a conversion error the rest of
+     * the object is skipped, so the parser is left after its END_OBJECT either way.
+     */
+    private BoundFact bind(JsonParser parser) throws IOException {
+        JsonStreamContext enclosing = parser.getParsingContext().getParent();
+        FactType factType = FactType.DECLARATION;
+        try {
+            // Buffer properties until factType is found; the rest stays in the stream
+            TokenBuffer head = new TokenBuffer(parser);
+            head.writeStartObject();
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if (FACT_TYPE_PROPERTY.equals(name)) {
+                    factType = FactType.fromValue(parser.getValueAsString());
+                    break;
+                }
+                head.writeFieldName(name);
+                head.copyCurrentStructure(parser);
+            }
+            if (token == JsonToken.END_OBJECT) {
+                // No factType: the whole object is buffered
+                head.writeEndObject();
+                return new BoundFact(factType, readerFor(factType).readValue(head.asParser(parser)), null);
+            }
+            // Not closed: closing the sequence would close the request parser
+            JsonParser replay = JsonParserSequence.createFlattened(false, head.asParser(parser), parser);
+            return new BoundFact(factType, readerFor(factType).readValue(replay), null);
+        } catch (JsonParseException e) {
+            throw e;
+        } catch (Exception e) {
+            // Skip what is left of this entity
+            while (parser.getParsingContext() != enclosing && parser.nextToken() != null) {
+                // consume
+            }
+            return new BoundFact(factType, null,
+                new IllegalArgumentException("Invalid entity data for " + factType + ": " + e.getMessage(), e));
+        }
+    }
+
+    private ObjectReader readerFor(FactType factType) {
+        return readers.computeIfAbsent(factType, type -> mapper.readerFor(factClass(type)));
+    }
+
+    private Class<?> factClass(FactType factType) {
+        Class<?> factClass = entityScannerService.getFactClass(factType);
+        if (factClass == null) {
+            throw new IllegalArgumentException("No fact class found for FactType: " + factType);
+        }
+        return factClass;
+    }
+
+    /**
+     * Request shape of Traveler (applied to its builder): *ID keys (TravelerID, NationalityCountryID)
+     * match the *Id properties, and otherGivenNames / baggageTagIds arrays are kept as their JSON text.
+     */
+    @JsonFormat(with = JsonFormat.Feature.ACCEPT_CASE_INSENSITIVE_PROPERTIES)
+    abstract static class TravelerBinding {
+        @JsonDeserialize(using = JsonTextDeserializer.class)
+        abstract Traveler.TravelerBuilder otherGivenNames(String otherGivenNames);
+
+        @JsonDeserialize(using = JsonTextDeserializer.class)
+        abstract Traveler.TravelerBuilder baggageTagIds(String baggageTagIds);
+    }
+
+    /**
+     * String property that may be sent as a JSON array or object, stored as its JSON text.
+     */
+    static class JsonTextDeserializer extends StdDeserializer<String> {
+
+        JsonTextDeserializer() {
+            super(String.class);
+        }
+
+        @Override
+        public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.isExpectedStartArrayToken() || parser.isExpectedStartObjectToken()) {
+                return context.readTree(parser).toString();
+            }
+            return parser.getValueAsString();
+        }
+    }
+}
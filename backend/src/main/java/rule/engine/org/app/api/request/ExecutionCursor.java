@@ -0,0 +1,44 @@
+package rule.engine.org.app.api.request;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in execution history: the (executedAt, id) of the last row of a page.
+ * Sent to clients as an opaque token in the X-Next-Cursor header and passed back as the cursor
+ * parameter to read the next page.
+ */
+public record ExecutionCursor(LocalDateTime executedAt, Long id) {
+
+    /**
+     * Position before every row, for the first page.
+     */
+    public static final ExecutionCursor FIRST = new ExecutionCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * @param token cursor parameter of a request, null or blank for the first page
+     * @throws IllegalArgumentException if the token was not produced by encode()
+     */
+    public static ExecutionCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new ExecutionCursor(LocalDateTime.parse(value.substring(0, separator)),
+                Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        String value = executedAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,44 @@
+package rule.engine.org.app.api.request;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the body of a bulk rule import: a root JSON array of rules or whitespace/newline separated
+ * rule objects (NDJSON). Rules are bound one at a time as the body streams in, so the request is
+ * never held as a JSON tree next to the rules read from it.
+ */
+public final class RuleImportReader {
+
+    private RuleImportReader() {
+    }
+
+    /**
+     * @throws IOException if the body is not valid JSON or a rule does not bind to CreateRuleRequest
+     */
+    public static List<CreateRuleRequest> readAll(ObjectMapper mapper, InputStream in) throws IOException {
+        ObjectReader ruleReader = mapper.readerFor(CreateRuleRequest.class);
+        List<CreateRuleRequest> rules = new ArrayList<>();
+        try (JsonParser parser = mapper.getFactory().createParser(in)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("Expected a rule object but found " + token);
+                }
+                rules.add(ruleReader.readValue(parser));
+                token = parser.nextToken();
+            }
+        }
+        return rules;
+    }
+}
@@ -22,6 +22,7 @@ public class UpdateRuleRequest {
     private String ruleName;
     private String label;
     private Integer priority;
+    private String partitionKey; // Optional: only facts whose partition field has this value (e.g. typeCode "EX")
     private String status; // DRAFT, ACTIVE, INACTIVE
     private FactType factType;
     private String description; // Optional description (not a field of DecisionRule entity)
@@ -32,6 +32,9 @@ public class RuleExecuteResponse {
     private String finalFlag;
     private Integer hitsCount;
     private List<RuleOutputHitDto> hits;
+    // Execution policy of the fact type, and whether it stopped firing before the agenda was empty
+    private String executionPolicy;
+    private Boolean stoppedEarly;
     
     /**
      * Nested DTO for rule output hits
@@ -42,6 +45,7 @@ public class RuleExecuteResponse {
     @AllArgsConstructor
     @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class RuleOutputHitDto {
+        private Long ruleId;
         private String action;
         private BigDecimal score;
         private String result;
@@ -55,6 +59,7 @@ public class RuleExecuteResponse {
          */
         public static RuleOutputHitDto from(RuleOutputHit hit) {
             return RuleOutputHitDto.builder()
+                .ruleId(hit.getRuleId())
                 .action(hit.getAction())
                 .score(hit.getScore())
                 .result(hit.getResult())
@@ -86,6 +91,8 @@ public class RuleExecuteResponse {
             .finalFlag(results.getFinalFlag())
             .hitsCount(results.getHits() != null ? results.getHits().size() : 0)
             .hits(hitsDto)
+            .executionPolicy(results.getExecutionPolicy())
+            .stoppedEarly(results.isStoppedEarly())
             .build();
     }
     
@@ -26,6 +26,7 @@ public class RuleResponse {
     private String factType;
     private String ruleContent;
     private Integer priority;
+    private String partitionKey;
     private String status; // DRAFT, ACTIVE, INACTIVE
     private Boolean generatedByAi;
     private String description;
@@ -44,7 +44,7 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedOriginPatterns(originPatterns.toArray(new String[0]))
                 .allowedMethods("*")
                 .allowedHeaders("*")
-                .exposedHeaders("Content-Type", "Authorization", "X-Total-Count", 
+                .exposedHeaders("Content-Type", "Authorization", "X-Total-Count", "X-Next-Cursor",
                     "Access-Control-Allow-Origin", "Access-Control-Allow-Credentials")
                 .allowCredentials(true)
                 .maxAge(3600);
@@ -76,6 +76,7 @@ public class CorsConfig implements WebMvcConfigurer {
         config.addExposedHeader("Content-Type");
         config.addExposedHeader("Authorization");
         config.addExposedHeader("X-Total-Count");
+        config.addExposedHeader("X-Next-Cursor");
         config.addExposedHeader("Access-Control-Allow-Origin");
         config.addExposedHeader("Access-Control-Allow-Credentials");
         
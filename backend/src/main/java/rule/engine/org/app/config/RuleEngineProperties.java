@@ -0,0 +1,358 @@
+package rule.engine.org.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tuning properties for the rule engine runtime (rule-engine.* in application.yml).
+ */
+@Component
+@ConfigurationProperties(prefix = "rule-engine")
+@Data
+public class RuleEngineProperties {
+
+    /**
+     * Cache of compiled containers for historical-version executions (/execute?version=N).
+     */
+    private VersionCache versionCache = new VersionCache();
+
+    /**
+     * Write-behind persistence of execution results.
+     */
+    private ResultWriter resultWriter = new ResultWriter();
+
+    /**
+     * Pool of reusable sessions behind each container's shared stateless session.
+     */
+    private SessionPool sessionPool = new SessionPool();
+
+    /**
+     * Retention of compiled KieModules in the process-wide KieRepository.
+     */
+    private ModuleRetention moduleRetention = new ModuleRetention();
+
+    /**
+     * Compiled rule artifacts persisted on local disk and loaded at startup.
+     */
+    private Artifacts artifacts = new Artifacts();
+
+    /**
+     * Compilation of rule containers at startup and on refresh/deploy of all fact types.
+     */
+    private Compile compile = new Compile();
+
+    /**
+     * Warm-up of a new container before it replaces the live one.
+     */
+    private Warmup warmup = new Warmup();
+
+    /**
+     * How far each execution fires the agenda.
+     */
+    private Execution execution = new Execution();
+
+    /**
+     * Routing of facts to the rules of their partition.
+     */
+    private Partitioning partitioning = new Partitioning();
+
+    /**
+     * Time partitions of rule_execution_results: creation ahead of time, retention and rollups.
+     */
+    private ExecutionPartitions executionPartitions = new ExecutionPartitions();
+
+    /**
+     * In-memory rule fire counters flushed to rule_fire_stats.
+     */
+    private FireStats fireStats = new FireStats();
+
+    /**
+     * Compressed columnar files keeping execution history after its partition is dropped.
+     */
+    private Archive archive = new Archive();
+
+    @Data
+    public static class VersionCache {
+        /**
+         * Maximum number of cached historical containers.
+         */
+        private int maxEntries = 16;
+
+        /**
+         * Maximum total weight (sum of rule counts) of cached historical containers.
+         */
+        private long maxWeight = 20_000;
+    }
+
+    @Data
+    public static class ModuleRetention {
+        /**
+         * Historical-version modules kept per fact type, newest versions first; the active version is always kept.
+         */
+        private int maxVersionsPerFactType = 5;
+
+        /**
+         * Validation modules whose caller never released them are evicted after this long.
+         */
+        private Duration temporaryTtl = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Artifacts {
+        /**
+         * Store an executable-model kjar of every published rule set and load it at startup.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Directory holding one sub-directory of artifacts per fact type.
+         */
+        private String directory = "data/rule-artifacts";
+
+        /**
+         * Artifacts kept per fact type; older ones are deleted when a new one is stored.
+         */
+        private int maxPerFactType = 20;
+    }
+
+    @Data
+    public static class Compile {
+
+        public enum BuildMode {
+            /** Compile the DRL text; deploys recompile only the changed rules. */
+            DRL,
+            /** Generate and compile the executable model (Java) of the rules; every deploy is a full build. */
+            EXECUTABLE_MODEL
+        }
+
+        /**
+         * Fact types compiled at the same time. Each compile holds the DRL, generated classes and
+         * KieBase of its fact type in memory, so this also bounds the peak heap of a deploy.
+         */
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Build mode of fact types not listed in build-modes.
+         */
+        private BuildMode buildMode = BuildMode.DRL;
+
+        /**
+         * Build mode per fact type (e.g. Declaration: EXECUTABLE_MODEL). Rules that fail the
+         * executable-model compile are built from DRL instead.
+         */
+        private Map<String, BuildMode> buildModes = new HashMap<>();
+    }
+
+    @Data
+    public static class Warmup {
+        /**
+         * Replay sample facts through every new container before publishing it.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Longest a deploy waits for warm-up; the container is published when it runs out.
+         */
+        private Duration budget = Duration.ofSeconds(10);
+
+        /**
+         * Recently executed facts kept per fact type for replay. Until a fact type has executed,
+         * its bundled sample file is replayed.
+         */
+        private int recentFacts = 32;
+
+        /**
+         * Consecutive rounds over all sample facts whose time per fact must stay within tolerance.
+         */
+        private int stableRounds = 3;
+
+        /**
+         * Relative change in time per fact between two rounds that still counts as stable.
+         */
+        private double tolerance = 0.1;
+    }
+
+    @Data
+    public static class Execution {
+
+        public enum Mode {
+            /** Fire every matching rule. */
+            ALL,
+            /** Stop at the first hit whose action is at least as severe as terminal-action. */
+            FIRST_TERMINAL,
+            /** Stop once max-hits rules have produced a hit. */
+            TOP_N,
+            /** Stop once the total score reaches score-threshold. */
+            SCORE_THRESHOLD
+        }
+
+        /**
+         * Execution policy per fact type (e.g. Declaration: {mode: FIRST_TERMINAL}); fact types not
+         * listed fire every matching rule. Rules fire in salience order, so a policy that stops early
+         * skips the lower-priority rules and reports only the hits up to the stop. On a partitioned
+         * fact type (partitioning.fields) the rules of the fact's partition fire before the shared
+         * rules whatever their salience, so a stop can also skip shared rules of higher priority.
+         */
+        private Map<String, Policy> policies = new HashMap<>();
+
+        @Data
+        public static class Policy {
+            private Mode mode = Mode.ALL;
+
+            /**
+             * FIRST_TERMINAL: least severe action that ends the execution (APPROVE, HOLD, FLAG, REVIEW or REJECT).
+             */
+            private String terminalAction = "REJECT";
+
+            /**
+             * TOP_N: hits after which the execution ends.
+             */
+            private int maxHits = 1;
+
+            /**
+             * SCORE_THRESHOLD: total score at which the execution ends.
+             */
+            private BigDecimal scoreThreshold;
+        }
+    }
+
+    @Data
+    public static class Partitioning {
+        /**
+         * Partition field per fact type (e.g. Declaration: typeCode). Rules with a partition key are
+         * only evaluated for facts whose partition field has that value; fact types not listed
+         * evaluate every rule, whatever its partition key.
+         */
+        private Map<String, String> fields = new HashMap<>();
+    }
+
+    @Data
+    public static class ExecutionPartitions {
+
+        public enum Granularity {
+            /** One partition per day (rule_execution_results_pYYYYMMDD). */
+            DAILY,
+            /** One partition per month (rule_execution_results_pYYYYMM). */
+            MONTHLY
+        }
+
+        /**
+         * Whether partitions are maintained at all; without it rows beyond the last partition land in the default partition.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Time range of newly created partitions. Changing it applies from the end of the last existing partition.
+         */
+        private Granularity granularity = Granularity.DAILY;
+
+        /**
+         * Partitions kept created beyond the current one.
+         */
+        private int createAhead = 7;
+
+        /**
+         * Partitions ending longer ago than this are rolled up hourly and dropped; zero or unset keeps everything.
+         * Dropping is opt-in and requires the archive to be enabled; startup fails otherwise.
+         */
+        private Duration retention = Duration.ZERO;
+
+        /**
+         * When maintenance runs; it also runs at startup.
+         */
+        private String cron = "0 15 * * * *";
+    }
+
+    @Data
+    public static class Archive {
+        /**
+         * Whether partitions past the retention period are archived before they are dropped; required for a retention.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Root directory of the archive files ({factType}/{yyyy-MM-dd}/{partition}.rca below it).
+         */
+        private String directory = "data/execution-archive";
+
+        /**
+         * Rows per row group: the unit a writer buffers and a reader decodes, with its own min/max.
+         */
+        private int rowGroupSize = 10_000;
+
+        /**
+         * Rows fetched per round trip from the cursor over the partition being archived.
+         */
+        private int fetchSize = 1_000;
+    }
+
+    @Data
+    public static class FireStats {
+        /**
+         * How often counted fires are added to rule_fire_stats; counts of other instances show up this much later.
+         */
+        private Duration flushInterval = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class SessionPool {
+        /**
+         * Sessions created up front per container; the pool grows when more executions run concurrently.
+         */
+        private int initialSize = Runtime.getRuntime().availableProcessors();
+    }
+
+    @Data
+    public static class ResultWriter {
+
+        public enum OverflowPolicy {
+            /** Wait up to block-timeout for room in the queue, then drop. */
+            BLOCK,
+            /** Drop the execution's results immediately. */
+            DROP,
+            /** Append to a spill file that is replayed when the queue drains. */
+            SPILL
+        }
+
+        /**
+         * Maximum number of executions waiting to be written.
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * Executions written per transaction.
+         */
+        private int flushSize = 500;
+
+        /**
+         * Maximum time a queued execution waits before its batch is flushed.
+         */
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        /**
+         * What to do when the queue is full.
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+        /**
+         * How long a request waits for queue space under the BLOCK policy.
+         */
+        private Duration blockTimeout = Duration.ofMillis(200);
+
+        /**
+         * Directory for spill files under the SPILL policy.
+         */
+        private String spillDirectory = "data/execution-spill";
+
+        /**
+         * How long shutdown waits for the queue to drain.
+         */
+        private Duration shutdownTimeout = Duration.ofSeconds(30);
+    }
+}
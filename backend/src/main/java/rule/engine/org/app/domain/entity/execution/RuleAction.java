@@ -0,0 +1,53 @@
+package rule.engine.org.app.domain.entity.execution;
+
+/**
+ * Actions a rule output can take, by severity.
+ * The final action of an execution is the most severe action among its hits.
+ */
+public enum RuleAction {
+    APPROVE(1),
+    HOLD(2),
+    FLAG(3),
+    REVIEW(4),
+    REJECT(5);
+
+    /**
+     * Severity of actions that are not one of the constants.
+     */
+    public static final int UNKNOWN_SEVERITY = 0;
+
+    private static final RuleAction[] VALUES = values();
+
+    private final int severity;
+
+    RuleAction(int severity) {
+        this.severity = severity;
+    }
+
+    public int getSeverity() {
+        return severity;
+    }
+
+    /**
+     * Look up an action by name, ignoring case, without allocating.
+     *
+     * @param action Action of a rule output (e.g. "reject")
+     * @return The action, or null if it is not one of the constants
+     */
+    public static RuleAction of(String action) {
+        for (RuleAction value : VALUES) {
+            if (value.name().equalsIgnoreCase(action)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Severity of an action name; UNKNOWN_SEVERITY for actions that are not one of the constants.
+     */
+    public static int severityOf(String action) {
+        RuleAction value = of(action);
+        return value != null ? value.severity : UNKNOWN_SEVERITY;
+    }
+}
@@ -0,0 +1,151 @@
+package rule.engine.org.app.domain.entity.execution;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Hit list of a TotalRuleResults that aggregates hits in a single pass as rules add them
+ * (totalResults.getHits().add(output) in the generated THEN clause), so that the summary is ready
+ * when the session returns. Hits must be complete when added, as the generated THEN clause does.
+ * Any other change to the list (set, remove, sort, ...) makes the next summary recompute from all hits.
+ * Scores are summed as fixed-point longs with SCORE_SCALE decimals, the scale of the rule_score column.
+ */
+public class RuleHitList extends ArrayList<RuleOutputHit> {
+
+    /**
+     * Decimals kept of each hit score (rule_score is NUMERIC(5,2)); finer scores are rounded half up.
+     */
+    public static final int SCORE_SCALE = 2;
+
+    private static final String DEFAULT_ACTION = RuleAction.APPROVE.name();
+    private static final long SCORE_FACTOR = 100;
+
+    // Running aggregate of the first aggregatedCount hits, valid while modCount is aggregatedModCount
+    private int aggregatedCount;
+    private int aggregatedModCount;
+    private long totalScore;
+    private int finalSeverity = -1;
+    private String finalAction;
+    private long finalFlagScore;
+    private String finalFlag;
+
+    public RuleHitList() {
+    }
+
+    public RuleHitList(Collection<? extends RuleOutputHit> hits) {
+        super(hits);
+    }
+
+    @Override
+    public boolean add(RuleOutputHit hit) {
+        boolean current = isAggregateCurrent();
+        super.add(hit);
+        if (current) {
+            accumulate(hit);
+            aggregatedCount++;
+            aggregatedModCount = modCount;
+        }
+        return true;
+    }
+
+    @Override
+    public RuleOutputHit set(int index, RuleOutputHit hit) {
+        // ArrayList.set does not count as a structural modification
+        aggregatedModCount = modCount - 1;
+        return super.set(index, hit);
+    }
+
+    /**
+     * Write total score, final action and final flag to the results.
+     * Without hits the total score is zero and the final action APPROVE; the final flag is left as is.
+     */
+    public void summarize(TotalRuleResults results) {
+        if (!isAggregateCurrent()) {
+            reaggregate();
+        }
+        if (isEmpty()) {
+            results.setTotalScore(BigDecimal.ZERO);
+            results.setFinalAction(DEFAULT_ACTION);
+            return;
+        }
+        results.setTotalScore(BigDecimal.valueOf(totalScore, SCORE_SCALE));
+        results.setFinalAction(finalAction != null ? finalAction : DEFAULT_ACTION);
+        results.setFinalFlag(finalFlag);
+    }
+
+    /**
+     * Severity of the most severe action among the hits so far, -1 if no hit has an action.
+     */
+    public int finalSeverity() {
+        if (!isAggregateCurrent()) {
+            reaggregate();
+        }
+        return finalSeverity;
+    }
+
+    /**
+     * Sum of the hit scores so far, with SCORE_SCALE decimals (see fixedPoint).
+     */
+    public long totalScore() {
+        if (!isAggregateCurrent()) {
+            reaggregate();
+        }
+        return totalScore;
+    }
+
+    private boolean isAggregateCurrent() {
+        return modCount == aggregatedModCount && size() == aggregatedCount;
+    }
+
+    private void reaggregate() {
+        totalScore = 0;
+        finalSeverity = -1;
+        finalAction = null;
+        finalFlagScore = 0;
+        finalFlag = null;
+        for (RuleOutputHit hit : this) {
+            accumulate(hit);
+        }
+        aggregatedCount = size();
+        aggregatedModCount = modCount;
+    }
+
+    /**
+     * Fold one hit into the aggregate. Ties keep the earlier hit: the first hit with the most severe
+     * action, and the flag of the first hit with the highest score among hits with a flag.
+     */
+    private void accumulate(RuleOutputHit hit) {
+        long score = fixedPoint(hit.getScore());
+        totalScore += score;
+
+        String action = hit.getAction();
+        if (action != null && !action.isEmpty()) {
+            int severity = RuleAction.severityOf(action);
+            if (severity > finalSeverity) {
+                finalSeverity = severity;
+                finalAction = action;
+            }
+        }
+
+        String flag = hit.getFlag();
+        if (flag != null && !flag.isEmpty() && (finalFlag == null || score > finalFlagScore)) {
+            finalFlag = flag;
+            finalFlagScore = score;
+        }
+    }
+
+    /**
+     * Score as a long with SCORE_SCALE decimals. Whole-number scores (the usual case) convert without allocating.
+     */
+    public static long fixedPoint(BigDecimal score) {
+        if (score == null) {
+            return 0;
+        }
+        if (score.scale() == 0) {
+            return Math.multiplyExact(score.longValueExact(), SCORE_FACTOR);
+        }
+        return score.setScale(SCORE_SCALE, RoundingMode.HALF_UP).scaleByPowerOfTen(SCORE_SCALE).longValueExact();
+    }
+}
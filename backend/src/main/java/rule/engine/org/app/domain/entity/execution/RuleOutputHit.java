@@ -13,6 +13,12 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 public class RuleOutputHit {
 
+    /**
+     * ID of the DecisionRule that produced this hit. Set by the generated THEN clause;
+     * hits of rules generated before this field existed are attributed by the engine.
+     */
+    private Long ruleId;
+
     /**
      * Action to take when this output is hit. Examples: FLAG, APPROVE, REJECT, REVIEW, HOLD.
      */
@@ -5,7 +5,6 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,9 +16,9 @@ import java.util.List;
 public class TotalRuleResults {
 
     /**
-     * List of hit outputs produced by matched rules.
+     * List of hit outputs produced by matched rules, aggregated as they are added.
      */
-    private List<RuleOutputHit> hits = new ArrayList<>();
+    private List<RuleOutputHit> hits = new RuleHitList();
 
     /**
      * Total score (e.g., sum of hit scores) after the run.
@@ -40,6 +39,24 @@ public class TotalRuleResults {
      * Execution timestamp.
      */
     private LocalDateTime runAt;
+
+    /**
+     * Execution policy the rules were fired under (e.g. ALL, FIRST_TERMINAL(REJECT)).
+     */
+    private String executionPolicy;
+
+    /**
+     * True if the execution policy was met and halted the session, so lower-priority rules did not fire.
+     */
+    private boolean stoppedEarly;
+
+    /**
+     * Set total score, final action and final flag from the hits.
+     */
+    public void aggregate() {
+        RuleHitList ruleHits = hits instanceof RuleHitList list ? list : new RuleHitList(hits);
+        ruleHits.summarize(this);
+    }
 }
 
 
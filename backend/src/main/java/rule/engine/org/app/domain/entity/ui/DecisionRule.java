@@ -21,8 +21,13 @@ import rule.engine.org.app.domain.entity.common.BaseAuditableEntity;
 @EqualsAndHashCode(callSuper = true)
 public class DecisionRule extends BaseAuditableEntity {
 
+    /**
+     * Sequence-generated (pooled, 50 ids per round trip) so Hibernate can batch inserts.
+     * The sequence increment is set to match in V17.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "decision_rules_seq")
+    @SequenceGenerator(name = "decision_rules_seq", sequenceName = "decision_rules_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "rule_name", nullable = false)
@@ -50,6 +55,15 @@ public class DecisionRule extends BaseAuditableEntity {
     @Column(name = "priority")
     private Integer priority = 0;
 
+    /**
+     * Value of the fact type's partition field (rule-engine.partitioning.fields, e.g. typeCode "EX")
+     * a fact must have for this rule to be evaluated. Partitioned rules are compiled into the agenda
+     * group of their key, which only gets focus for matching facts, and fire before the shared rules.
+     * NULL (default) = shared rule, evaluated for every fact of the fact type.
+     */
+    @Column(name = "partition_key", length = 100)
+    private String partitionKey;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private RuleStatus status = RuleStatus.DRAFT; // New rules default to draft
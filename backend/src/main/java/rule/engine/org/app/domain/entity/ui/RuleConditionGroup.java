@@ -11,8 +11,13 @@ import rule.engine.org.app.domain.entity.common.BaseAuditableEntity;
 @EqualsAndHashCode(callSuper = true)
 public class RuleConditionGroup extends BaseAuditableEntity {
 
+    /**
+     * Sequence-generated (pooled, 50 ids per round trip) so Hibernate can batch inserts.
+     * The sequence increment is set to match in V17.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rule_condition_group_seq")
+    @SequenceGenerator(name = "rule_condition_group_seq", sequenceName = "rule_condition_group_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -19,20 +19,28 @@ import java.time.LocalDateTime;
  * - Audit trail: which rules fired for which declarations
  * - Reporting: declarations by action, score distribution, rule effectiveness
  * - Debugging: why did a rule fire or not fire
+ *
+ * The table is range partitioned by executed_at (V15) and its primary key is (id, executed_at);
+ * id alone is still unique, as every id comes from one sequence. Partitions past the retention
+ * period are dropped by ExecutionPartitionManager after being rolled up per rule and hour.
  */
 @Entity
 @Table(name = "rule_execution_results", indexes = {
-    @Index(name = "idx_execution_declaration", columnList = "declaration_id"),
-    @Index(name = "idx_execution_rule", columnList = "decision_rule_id"),
-    @Index(name = "idx_execution_action", columnList = "rule_action"),
-    @Index(name = "idx_execution_time", columnList = "executed_at")
+    @Index(name = "idx_execution_declaration_time", columnList = "declaration_id, executed_at DESC, id DESC"),
+    @Index(name = "idx_execution_rule_time", columnList = "decision_rule_id, executed_at DESC, id DESC"),
+    @Index(name = "idx_execution_time_id", columnList = "executed_at DESC, id DESC")
 })
 @Data
 @EqualsAndHashCode(callSuper = true)
 public class RuleExecutionResult extends BaseAuditableEntity {
 
+    /**
+     * Sequence-generated (pooled, 50 ids per round trip) so Hibernate can batch inserts.
+     * The sequence increment is set to match in V12.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rule_execution_results_seq")
+    @SequenceGenerator(name = "rule_execution_results_seq", sequenceName = "rule_execution_results_id_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -13,8 +13,13 @@ import java.math.BigDecimal;
 @EqualsAndHashCode(callSuper = true)
 public class RuleOutput extends BaseAuditableEntity {
 
+    /**
+     * Sequence-generated (pooled, 50 ids per round trip) so Hibernate can batch inserts.
+     * The sequence increment is set to match in V17.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rule_output_seq")
+    @SequenceGenerator(name = "rule_output_seq", sequenceName = "rule_output_id_seq", allocationSize = 50)
     private Long id;
 
     // Link to output group (required by schema)
@@ -0,0 +1,54 @@
+package rule.engine.org.app.domain.fact.cargo;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cargo Report fact following WCO Data Model 3.9, with its transport equipment and consignments.
+ * Immutable execution fact bound from /execute requests; mirrors the fields of the
+ * CargoReport entity, whose JPA mapping only describes the fields to the rule editor.
+ * Nested lists are shared with the binder and must not be modified.
+ */
+@Value
+@Builder
+@Jacksonized
+public class CargoReport {
+
+    // Core identification
+    String functionCode; // "1" = original, "9" = cancel, etc.
+    String typeCode; // "CRI" = Cargo Report Import, "CRE" = Cargo Report Export
+    String officeId; // e.g., "VNHPH"
+    String reportId; // e.g., "MANIFEST-2025-0001"
+    LocalDateTime submissionDateTime;
+
+    // Transport means
+    String transportMeansModeCode; // "1" = Maritime, "2" = Rail, "3" = Road, "4" = Air
+    String transportMeansId; // IMO, Flight number, etc.
+    String transportMeansJourneyId; // Voyage/Flight/Trip number
+
+    // Location
+    String loadingLocationId; // Port of loading (e.g., "CNSHA")
+    String unloadingLocationId; // Port of discharge (e.g., "VNHPH")
+    LocalDateTime estimatedDepartureDateTime;
+    LocalDateTime estimatedArrivalDateTime;
+
+    // Carrier
+    String carrierId;
+    String carrierName;
+    String carrierCountryId;
+
+    // Master transport document
+    String masterTransportDocumentId; // Master Bill of Lading
+
+    // Relationship to transport equipment
+    @Builder.Default
+    List<TransportEquipment> transportEquipment = List.of();
+
+    // Relationship to consignments
+    @Builder.Default
+    List<Consignment> consignments = List.of();
+}
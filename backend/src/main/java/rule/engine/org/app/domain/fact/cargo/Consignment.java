@@ -0,0 +1,52 @@
+package rule.engine.org.app.domain.fact.cargo;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Consignment (House Bill of Lading level) of a Cargo Report fact.
+ * Immutable execution fact bound from /execute requests; mirrors the fields of the
+ * Consignment entity, whose JPA mapping only describes the fields to the rule editor.
+ * Nested lists are shared with the binder and must not be modified.
+ */
+@Value
+@Builder
+@Jacksonized
+public class Consignment {
+
+    String transportContractDocumentId; // House Bill of Lading number
+    String ucr; // Unique Consignment Reference
+
+    // Consignor (Seller/Exporter)
+    String consignorId;
+    String consignorName;
+    String consignorCountryId;
+
+    // Consignee (Buyer/Importer at delivery)
+    String consigneeId;
+    String consigneeName;
+    String consigneeCountryId;
+
+    // Notify Party
+    String notifyPartyId;
+    String notifyPartyName;
+    String notifyPartyCountryId;
+
+    // Package information
+    String marksNumbersId; // Shipping marks
+    Integer packageQuantity;
+    String packageTypeCode; // "CT" = Carton, "PK" = Package, etc.
+    BigDecimal grossMassMeasure;
+
+    // Location
+    String loadingLocationId;
+    String unloadingLocationId;
+
+    // Relationship to consignment items
+    @Builder.Default
+    List<ConsignmentItem> consignmentItems = List.of();
+}
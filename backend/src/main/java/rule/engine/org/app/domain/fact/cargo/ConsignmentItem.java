@@ -0,0 +1,31 @@
+package rule.engine.org.app.domain.fact.cargo;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.math.BigDecimal;
+
+/**
+ * Consignment Item (line item within a consignment) of a Cargo Report fact.
+ * Immutable execution fact bound from /execute requests; mirrors the fields of the
+ * ConsignmentItem entity, whose JPA mapping only describes the fields to the rule editor.
+ */
+@Value
+@Builder
+@Jacksonized
+public class ConsignmentItem {
+
+    Integer sequenceNumeric; // Line number (1, 2, 3, ...)
+    String goodsDescription; // Commercial description
+    String hsId; // HS code (e.g., "610910")
+    String originCountryId; // Country of origin
+
+    // Quantity
+    BigDecimal quantityQuantity; // Statistical quantity
+    String quantityUnitCode; // Unit code (e.g., "NMB", "KGM")
+
+    // Weight
+    BigDecimal netWeightMeasure;
+    BigDecimal grossWeightMeasure;
+}
@@ -0,0 +1,23 @@
+package rule.engine.org.app.domain.fact.cargo;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.math.BigDecimal;
+
+/**
+ * Transport Equipment (container, trailer, etc.) of a Cargo Report fact.
+ * Immutable execution fact bound from /execute requests; mirrors the fields of the
+ * TransportEquipment entity, whose JPA mapping only describes the fields to the rule editor.
+ */
+@Value
+@Builder
+@Jacksonized
+public class TransportEquipment {
+
+    String equipmentId; // Container number, trailer number, etc.
+    String equipmentTypeCode; // "CN" = Container, "TR" = Trailer, etc.
+    String sealId; // Seal number
+    BigDecimal grossMassMeasure; // Gross weight of equipment with cargo
+}
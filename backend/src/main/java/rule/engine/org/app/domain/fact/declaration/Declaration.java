@@ -0,0 +1,92 @@
+package rule.engine.org.app.domain.fact.declaration;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Declaration fact following WCO Data Model 3.9, with its goods items.
+ * Immutable execution fact bound from /execute requests; mirrors the fields of the
+ * Declaration entity, whose JPA mapping only describes the fields to the rule editor.
+ * Nested lists are shared with the binder and must not be modified.
+ */
+@Value
+@Builder
+@Jacksonized
+public class Declaration {
+
+    // Core identification
+    String functionCode; // "1" = original, "9" = cancel, etc.
+    String typeCode; // "IM" = Import, "EX" = Export
+    String officeId; // e.g., "VNHPH"
+    String declarationId; // e.g., "23IM123456"
+    LocalDateTime submissionDateTime;
+    String ucr; // Unique Consignment Reference
+
+    // Declarant (Broker/Agent)
+    String declarantId;
+    String declarantName;
+    String declarantCountryId;
+
+    // Consignor (Seller/Exporter)
+    String consignorId;
+    String consignorName;
+    String consignorCountryId;
+
+    // Consignee (Buyer/Importer at delivery)
+    String consigneeId;
+    String consigneeName;
+    String consigneeCountryId;
+
+    // Importer (Legal entity for customs)
+    String importerId;
+    String importerName;
+    String importerCountryId;
+
+    // Country information
+    String countryOfExportId;
+    String countryOfImportId;
+    String countryOfDestinationId;
+
+    // Incoterm
+    String incotermCode; // "CIF", "FOB", etc.
+
+    // Invoice
+    String invoiceId;
+    LocalDateTime invoiceIssueDateTime;
+    String invoiceCurrencyCode;
+    BigDecimal invoiceAmount;
+
+    // Transport
+    String transportMeansModeCode; // "1" = Maritime, "2" = Rail, "3" = Road, "4" = Air
+    String transportMeansId; // IMO, Flight number, etc.
+    String transportMeansJourneyId; // Voyage/Flight/Trip number
+
+    // Location
+    String loadingLocationId; // Port of loading (e.g., "CNSHA")
+    String unloadingLocationId; // Port of discharge (e.g., "VNHPH")
+    String locationOfGoodsId;
+    String warehouseId;
+
+    // Package
+    Integer packageQuantity;
+    String marksNumbersId; // Shipping marks
+
+    // Totals
+    BigDecimal totalGrossMassMeasure;
+    BigDecimal totalNetMassMeasure;
+    BigDecimal totalFreightAmount;
+    BigDecimal totalInsuranceAmount;
+    BigDecimal otherChargesAmount;
+
+    // Previous documents (stored as JSON array string)
+    String previousDocumentIds; // e.g., '["BL:OOLU1234567890"]'
+
+    // Relationship to goods items (used by Drools; ignore missing rows at runtime)
+    @Builder.Default
+    List<GovernmentAgencyGoodsItem> governmentAgencyGoodsItems = List.of();
+}
@@ -0,0 +1,53 @@
+package rule.engine.org.app.domain.fact.declaration;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.math.BigDecimal;
+
+/**
+ * Government Agency Goods Item (line item) of a Declaration fact.
+ * Immutable execution fact bound from /execute requests; mirrors the fields of the
+ * GovernmentAgencyGoodsItem entity, whose JPA mapping only describes the fields to the rule editor.
+ */
+@Value
+@Builder
+@Jacksonized
+public class GovernmentAgencyGoodsItem {
+
+    Integer sequenceNumeric; // Line number (1, 2, 3, ...)
+
+    // HS Code and Description
+    String hsId; // HS code (e.g., "610910")
+    String description; // Commercial description
+
+    // Origin
+    String originCountryId; // Country of origin
+
+    // Weight and Quantity
+    BigDecimal netWeightMeasure;
+    BigDecimal grossWeightMeasure;
+    BigDecimal quantityQuantity; // Statistical quantity
+    String quantityUnitCode; // Unit code (e.g., "NMB", "KGM")
+
+    // Invoice line
+    String invoiceLineNumberId;
+    BigDecimal unitPriceAmount;
+
+    // Value
+    BigDecimal statisticalValueAmount;
+    BigDecimal customsValueAmount;
+
+    // Procedure and Preference
+    String procedureCode; // e.g., "4000" = Free circulation
+    String previousProcedureCode;
+    String preferenceCode; // Preference treatment (e.g., "000", "100")
+
+    // Valuation
+    String valuationMethodCode; // "1" to "6" per WTO Valuation Agreement
+
+    // Duty
+    BigDecimal dutyRate; // Duty percentage (e.g., 12.0 = 12%)
+    BigDecimal dutyAmount; // Calculated duty amount
+}
@@ -0,0 +1,25 @@
+package rule.engine.org.app.domain.fact.traveler;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.time.LocalDateTime;
+
+/**
+ * Itinerary Leg: a single leg of a Traveler fact's journey.
+ * Immutable execution fact bound from /execute requests; mirrors the fields of the
+ * ItineraryLeg entity, whose JPA mapping only describes the fields to the rule editor.
+ */
+@Value
+@Builder
+@Jacksonized
+public class ItineraryLeg {
+
+    Integer legSequenceNumeric;
+    String departureLocationId; // UN/LOCODE
+    String arrivalLocationId; // UN/LOCODE
+    LocalDateTime departureDateTime;
+    LocalDateTime arrivalDateTime;
+    String transportMeansId; // IMO, Flight number, etc.
+}
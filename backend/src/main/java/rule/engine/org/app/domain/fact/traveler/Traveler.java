@@ -0,0 +1,100 @@
+package rule.engine.org.app.domain.fact.traveler;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Traveler fact following WCO Data Model 3.9: a passenger or crew member, with the legs of their journey.
+ * Immutable execution fact bound from /execute requests; mirrors the fields of the
+ * Traveler entity, whose JPA mapping only describes the fields to the rule editor.
+ * Nested lists are shared with the binder and must not be modified.
+ */
+@Value
+@Builder
+@Jacksonized
+public class Traveler {
+
+    // Unique identifier for the traveler (e.g., "TRAVELER-2025-0001")
+    String travelerId;
+
+    // Sequence and basic classification
+    Integer sequenceNumeric;
+    String crewOrPassengerCode; // PAX or CREW
+    String residenceStatusCode; // R = Resident, V = Visitor
+    String transitIndicatorCode; // Y or N
+    String inadmissibleIndicatorCode; // Y or N (INAD case)
+    String deathIndicatorCode; // Y or N (Death on board)
+    String deporteeIndicatorCode; // Y or N (DEPA/DEPU)
+    String unaccompaniedMinorIndicatorCode; // Y or N
+
+    // Personal information
+    String familyName;
+    String givenName;
+    String middleName;
+    String otherGivenNames; // JSON array stored as string
+    String genderCode; // M, F, etc.
+    LocalDate birthDate;
+
+    // Country information
+    String birthCountryId;
+    String nationalityCountryId;
+    String secondNationalityCountryId;
+    String residenceCountryId;
+
+    // Contact information
+    String addressInDestinationText;
+    String contactPhoneNumber;
+    String emailAddressId;
+
+    // Travel document
+    String travelDocumentTypeCode; // P = Passport, etc.
+    String travelDocumentNumber;
+    String travelDocumentIssuingCountryId;
+    LocalDate travelDocumentIssueDate;
+    LocalDate travelDocumentExpiryDate;
+    String travelDocumentOtherId; // For non-passport ID types
+
+    // Visa information
+    String visaId;
+    LocalDate visaExpiryDate;
+    String visaIssueCountryId;
+    String visaTypeCode; // T = Tourist, W = Work, S = Student, etc.
+
+    // Embarkation/Disembarkation
+    String embarkationLocationId; // UN/LOCODE
+    String disembarkationLocationId;
+    LocalDateTime embarkationDateTime;
+    LocalDateTime disembarkationDateTime;
+
+    // Transportation details
+    String transportationClassCode; // ECO = Economy, BUS = Business, etc.
+    String seatOrCabinId;
+
+    // Baggage information
+    Integer baggageCount;
+    BigDecimal baggageWeightMeasure;
+    String baggageTagIds; // JSON array stored as string
+
+    // PNR (Passenger Name Record)
+    String pnrRecordLocatorId;
+    LocalDateTime pnrCreationDateTime;
+
+    // Carrier information
+    String carrierCode;
+    String carrierName;
+
+    // Emergency contact
+    String emergencyContactName;
+    String emergencyContactPhoneNumber;
+    String emergencyContactRelationshipCode;
+
+    // Relationship to itinerary legs
+    @Builder.Default
+    List<ItineraryLeg> itineraryLegs = List.of();
+}
@@ -1,10 +1,13 @@
 package rule.engine.org.app.domain.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import rule.engine.org.app.domain.entity.ui.DecisionRule;
 import rule.engine.org.app.domain.entity.ui.FactType;
 import rule.engine.org.app.domain.entity.ui.RuleStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +36,18 @@ public interface DecisionRuleRepository extends JpaRepository<DecisionRule, Long
     List<DecisionRule> findByIsLatestTrueAndCreatedByOrderByCreatedAtDesc(String createdBy);
     List<DecisionRule> findByCreatedByOrderByCreatedAtDesc(String createdBy);
     java.util.Optional<DecisionRule> findByIdAndCreatedBy(Long id, String createdBy);
+
+    /**
+     * IDs among the given ones of rules created by a user, without loading the rules
+     */
+    @Query("SELECT r.id FROM DecisionRule r WHERE r.id IN :ids AND r.createdBy = :createdBy")
+    List<Long> findIdsByIdInAndCreatedBy(@Param("ids") Collection<Long> ids, @Param("createdBy") String createdBy);
+
+    /**
+     * IDs among the given ones of rules that still exist, without loading the rules
+     */
+    @Query("SELECT r.id FROM DecisionRule r WHERE r.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
     
     /**
      * Find all latest active rules, ordered by priority
@@ -60,6 +75,12 @@ public interface DecisionRuleRepository extends JpaRepository<DecisionRule, Long
      * Find rule by rule name and isLatest flag (for duplicate checking)
      */
     Optional<DecisionRule> findByRuleNameAndIsLatestTrue(String ruleName);
+
+    /**
+     * Names among the given ones that a latest rule version already uses, in one query for a whole import
+     */
+    @Query("SELECT r.ruleName FROM DecisionRule r WHERE r.isLatest = true AND r.ruleName IN :names")
+    List<String> findLatestRuleNames(@Param("names") Collection<String> names);
     
     /**
      * Find all distinct fact types
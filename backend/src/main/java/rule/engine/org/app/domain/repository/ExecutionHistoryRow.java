@@ -0,0 +1,21 @@
+package rule.engine.org.app.domain.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of execution history, selected column by column instead of loading RuleExecutionResult
+ * and its DecisionRule. (executedAt, id) is the keyset position of the row in history order.
+ */
+public record ExecutionHistoryRow(
+        Long id,
+        String declarationId,
+        Long ruleId,
+        String ruleName,
+        Boolean matched,
+        String ruleAction,
+        String ruleResult,
+        BigDecimal ruleScore,
+        LocalDateTime executedAt,
+        String executionSource) {
+}
@@ -1,5 +1,6 @@
 package rule.engine.org.app.domain.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,16 +13,6 @@ import java.util.List;
 @Repository
 public interface RuleExecutionResultRepository extends JpaRepository<RuleExecutionResult, Long> {
 
-    /**
-     * Find all execution results for a specific declaration
-     */
-    List<RuleExecutionResult> findByDeclarationId(String declarationId);
-
-    /**
-     * Find all execution results for a specific rule
-     */
-    List<RuleExecutionResult> findByDecisionRuleId(Long ruleId);
-
     /**
      * Find matched rules for a declaration
      */
@@ -43,27 +34,71 @@ public interface RuleExecutionResultRepository extends JpaRepository<RuleExecuti
     @Query("SELECT COUNT(r) FROM RuleExecutionResult r WHERE r.decisionRule.id = :ruleId AND r.matched = true")
     Long countRuleFires(@Param("ruleId") Long ruleId);
 
+    // Newest first; a page continues strictly after the (executedAt, id) of the previous page's last row.
+    // executedAt <= :beforeAt bounds the index range, the OR breaks ties between rows of the same instant.
+    String HISTORY_ROW = "SELECT new rule.engine.org.app.domain.repository.ExecutionHistoryRow(" +
+           "r.id, r.declarationId, d.id, d.ruleName, r.matched, r.ruleAction, r.ruleResult, r.ruleScore, " +
+           "r.executedAt, r.executionSource) " +
+           "FROM RuleExecutionResult r JOIN r.decisionRule d ";
+    String BEFORE_CURSOR = "AND r.executedAt <= :beforeAt AND (r.executedAt < :beforeAt OR r.id < :beforeId) ";
+    String HISTORY_ORDER = "ORDER BY r.executedAt DESC, r.id DESC";
+
+    /**
+     * Page of execution history of a declaration, for rules created by a specific user
+     */
+    @Query(HISTORY_ROW +
+           "WHERE r.declarationId = :declarationId " +
+           "AND d.createdBy = :userId " +
+           BEFORE_CURSOR +
+           HISTORY_ORDER)
+    List<ExecutionHistoryRow> findHistoryByDeclaration(
+            @Param("declarationId") String declarationId,
+            @Param("userId") String userId,
+            @Param("beforeAt") LocalDateTime beforeAt,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
+
+    /**
+     * Page of execution history of a rule
+     */
+    @Query(HISTORY_ROW +
+           "WHERE r.decisionRule.id = :ruleId " +
+           BEFORE_CURSOR +
+           HISTORY_ORDER)
+    List<ExecutionHistoryRow> findHistoryByRule(
+            @Param("ruleId") Long ruleId,
+            @Param("beforeAt") LocalDateTime beforeAt,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
+
     /**
-     * Find declarations flagged by a specific rule
+     * Page of declarations flagged by a specific rule
      */
-    @Query("SELECT r FROM RuleExecutionResult r " +
+    @Query(HISTORY_ROW +
            "WHERE r.decisionRule.id = :ruleId " +
            "AND r.ruleAction = 'FLAG' " +
-           "ORDER BY r.executedAt DESC")
-    List<RuleExecutionResult> findFlaggedByRule(@Param("ruleId") Long ruleId);
+           BEFORE_CURSOR +
+           HISTORY_ORDER)
+    List<ExecutionHistoryRow> findFlaggedHistoryByRule(
+            @Param("ruleId") Long ruleId,
+            @Param("beforeAt") LocalDateTime beforeAt,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
 
     /**
-     * Find all execution results for rules created by a specific user
+     * Page of execution history of all rules created by a specific user
      * Optionally filter by execution source
-     * Uses JOIN FETCH to eagerly load DecisionRule to avoid LazyInitializationException
      */
-    @Query("SELECT r FROM RuleExecutionResult r " +
-           "JOIN FETCH r.decisionRule d " +
+    @Query(HISTORY_ROW +
            "WHERE d.createdBy = :userId " +
            "AND (:source IS NULL OR r.executionSource = :source) " +
-           "ORDER BY r.executedAt DESC")
-    List<RuleExecutionResult> findByUserRulesAndSource(
+           BEFORE_CURSOR +
+           HISTORY_ORDER)
+    List<ExecutionHistoryRow> findHistoryByUserRulesAndSource(
             @Param("userId") String userId,
-            @Param("source") String source);
+            @Param("source") String source,
+            @Param("beforeAt") LocalDateTime beforeAt,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
 }
 
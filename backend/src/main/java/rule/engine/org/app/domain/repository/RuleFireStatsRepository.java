@@ -0,0 +1,85 @@
+package rule.engine.org.app.domain.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access to rule_fire_stats (V16). The table has no entity: counts are only ever added to with an
+ * upsert and summed, neither of which JPA expresses.
+ */
+@Repository
+public class RuleFireStatsRepository {
+
+    /**
+     * Fires of one rule on one day from one execution source.
+     */
+    public record FireCount(long ruleId, LocalDate day, String executionSource, long count) {
+    }
+
+    private static final String ADD_FIRES =
+        "INSERT INTO rule_fire_stats (decision_rule_id, stat_date, execution_source, fire_count) " +
+        "VALUES (:ruleId, :day, :source, :count) " +
+        "ON CONFLICT (decision_rule_id, stat_date, execution_source) " +
+        "DO UPDATE SET fire_count = rule_fire_stats.fire_count + EXCLUDED.fire_count";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public RuleFireStatsRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Add fire counts to their day buckets in one JDBC batch.
+     */
+    public void addFires(List<FireCount> counts) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = new SqlParameterSource[counts.size()];
+        for (int i = 0; i < batch.length; i++) {
+            FireCount count = counts.get(i);
+            batch[i] = new MapSqlParameterSource()
+                .addValue("ruleId", count.ruleId())
+                .addValue("day", count.day())
+                .addValue("source", count.executionSource())
+                .addValue("count", count.count());
+        }
+        jdbcTemplate.batchUpdate(ADD_FIRES, batch);
+    }
+
+    /**
+     * Count how many times a rule has fired, over all days and sources
+     */
+    public long countFires(Long ruleId) {
+        Long count = jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(fire_count), 0) FROM rule_fire_stats WHERE decision_rule_id = :ruleId",
+            Map.of("ruleId", ruleId), Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Fire counts of several rules; rules that never fired are absent from the result
+     */
+    public Map<Long, Long> countFires(Collection<Long> ruleIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (ruleIds.isEmpty()) {
+            return counts;
+        }
+        jdbcTemplate.query(
+            "SELECT decision_rule_id, SUM(fire_count) FROM rule_fire_stats " +
+            "WHERE decision_rule_id IN (:ruleIds) GROUP BY decision_rule_id",
+            Map.of("ruleIds", ruleIds),
+            rs -> {
+                counts.put(rs.getLong(1), rs.getLong(2));
+            });
+        return counts;
+    }
+}
@@ -0,0 +1,288 @@
+package rule.engine.org.app.domain.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import rule.engine.org.app.config.RuleEngineProperties;
+import rule.engine.org.app.domain.repository.ExecutionHistoryRow;
+import rule.engine.org.app.domain.service.ExecutionArchiveFile.Footer;
+import rule.engine.org.app.domain.service.ExecutionArchiveFile.Row;
+import rule.engine.org.app.domain.service.ExecutionArchiveFile.Stats;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Archive of execution history past the retention period of rule_execution_results.
+ * ExecutionPartitionManager archives a partition before it drops it: the rows are streamed from a
+ * database cursor into one file per fact type and day, {directory}/{factType}/{yyyy-MM-dd}/{partition}.rca
+ * (see ExecutionArchiveFile), holding one row group in memory at a time. Queries by declaration or
+ * rule read the footers of the files of the requested days and decode only the row groups whose
+ * min/max can hold the key.
+ */
+@Service
+@Slf4j
+public class ExecutionArchive {
+
+    // Grouped by file, then by declaration within a file so row group ranges stay narrow
+    private static final String PARTITION_ROWS = """
+        SELECT r.id, r.declaration_id, r.decision_rule_id, d.rule_name, d.created_by, r.matched, r.rule_action,
+               r.rule_result, r.rule_score, r.executed_at, r.execution_source, d.fact_type
+        FROM %s r JOIN decision_rules d ON d.id = r.decision_rule_id
+        ORDER BY d.fact_type, r.executed_at::date, r.declaration_id, r.executed_at, r.id
+        """;
+
+    private static final Comparator<ExecutionHistoryRow> OLDEST_FIRST =
+        Comparator.comparing(ExecutionHistoryRow::executedAt).thenComparing(ExecutionHistoryRow::id);
+
+    private record CachedFooter(FileTime modified, Footer footer) {
+    }
+
+    private final RuleEngineProperties.Archive settings;
+    private final Path directory;
+    private final JdbcTemplate cursorTemplate;
+    private final Map<Path, CachedFooter> footers = new ConcurrentHashMap<>();
+
+    public ExecutionArchive(DataSource dataSource, RuleEngineProperties properties) {
+        this.settings = properties.getArchive();
+        this.directory = Path.of(settings.getDirectory());
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(Math.max(1, settings.getFetchSize()));
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    /**
+     * Write the rows of a partition to the archive. Must run inside a transaction: the PostgreSQL
+     * driver only fetches through a cursor when auto-commit is off. Archiving the same partition
+     * again replaces its files.
+     * @return number of rows archived
+     * @throws UncheckedIOException if a file cannot be written; files finished before stay
+     */
+    long archivePartition(String partition) {
+        PartitionWriter writer = new PartitionWriter(partition);
+        try {
+            cursorTemplate.query(PARTITION_ROWS.formatted(ExecutionPartitionManager.quote(partition)), writer);
+            return writer.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive " + partition, e);
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Writes the rows of a partition, which arrive grouped by fact type and day, one file at a time.
+     */
+    private final class PartitionWriter implements RowCallbackHandler {
+
+        private final String partition;
+        private ExecutionArchiveFile.Writer file;
+        private String factType;
+        private LocalDate day;
+        private long rows;
+
+        PartitionWriter(String partition) {
+            this.partition = partition;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            LocalDateTime executedAt = rs.getObject("executed_at", LocalDateTime.class);
+            String rowFactType = rs.getString("fact_type");
+            LocalDate rowDay = executedAt.toLocalDate();
+            Row row = new Row(new ExecutionHistoryRow(
+                rs.getLong("id"),
+                rs.getString("declaration_id"),
+                rs.getLong("decision_rule_id"),
+                rs.getString("rule_name"),
+                rs.getBoolean("matched"),
+                rs.getString("rule_action"),
+                rs.getString("rule_result"),
+                rs.getBigDecimal("rule_score"),
+                executedAt,
+                rs.getString("execution_source")),
+                rs.getString("created_by"));
+            try {
+                if (file == null || !rowFactType.equals(factType) || !rowDay.equals(day)) {
+                    finish();
+                    file = new ExecutionArchiveFile.Writer(
+                        fileOf(rowFactType, rowDay, partition), rowFactType, rowDay, settings.getRowGroupSize());
+                    factType = rowFactType;
+                    day = rowDay;
+                }
+                file.write(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to archive " + partition, e);
+            }
+        }
+
+        /**
+         * Finish the current file.
+         * @return rows in the finished files
+         */
+        long finish() throws IOException {
+            if (file != null) {
+                file.finish();
+                rows += file.rows();
+                file = null;
+            }
+            return rows;
+        }
+
+        /**
+         * Remove the unfinished file after a failure.
+         */
+        void close() {
+            if (file == null) {
+                return;
+            }
+            try {
+                file.close();
+            } catch (IOException e) {
+                log.warn("Could not remove unfinished archive file of {}: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Archived executions of a declaration by rules of a user, newest first.
+     * @param from first day to search, null for no lower bound
+     * @param to last day to search, null for no upper bound
+     */
+    public List<ExecutionHistoryRow> findByDeclaration(String declarationId, String createdBy,
+                                                       LocalDate from, LocalDate to, int limit) {
+        return find(from, to, limit,
+            stats -> stats.mayContainDeclaration(declarationId),
+            row -> declarationId.equals(row.history().declarationId())
+                && (createdBy == null || createdBy.equals(row.ruleCreatedBy())));
+    }
+
+    /**
+     * Archived executions of a rule, newest first. Authorized against the creator recorded in the
+     * archive, as the rule may have been deleted since.
+     * @param createdBy creator the rule must have, null for any (administrators)
+     * @param from first day to search, null for no lower bound
+     * @param to last day to search, null for no upper bound
+     */
+    public List<ExecutionHistoryRow> findByRule(long ruleId, String createdBy, LocalDate from, LocalDate to, int limit) {
+        return find(from, to, limit,
+            stats -> stats.mayContainRule(ruleId),
+            row -> row.history().ruleId() == ruleId
+                && (createdBy == null || createdBy.equals(row.ruleCreatedBy())));
+    }
+
+    /**
+     * Search day by day from the newest, keeping only the newest limit matches seen so far, and stop
+     * after the day that completes the limit. Rows within a day are ordered by declaration, not time,
+     * so once the limit is reached row groups whose executions are all older than the oldest match
+     * kept are skipped without decoding.
+     */
+    private List<ExecutionHistoryRow> find(LocalDate from, LocalDate to, int limit,
+                                           Predicate<Stats> mayContain, Predicate<Row> matches) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        // Oldest kept match at the head
+        PriorityQueue<ExecutionHistoryRow> newest = new PriorityQueue<>(limit + 1, OLDEST_FIRST);
+        Predicate<Stats> mayImprove = stats -> mayContain.test(stats)
+            && (newest.size() < limit || !stats.maxExecutedAt().isBefore(newest.peek().executedAt()));
+        try {
+            for (List<Path> files : filesByDay(from, to).values()) {
+                for (Path file : files) {
+                    Footer footer = footer(file);
+                    if (footer.stats() == null || !mayImprove.test(footer.stats())) {
+                        continue;
+                    }
+                    ExecutionArchiveFile.scan(file, footer, mayImprove, row -> {
+                        if (!matches.test(row)) {
+                            return;
+                        }
+                        if (newest.size() < limit || OLDEST_FIRST.compare(row.history(), newest.peek()) > 0) {
+                            newest.add(row.history());
+                            if (newest.size() > limit) {
+                                newest.poll();
+                            }
+                        }
+                    });
+                }
+                if (newest.size() >= limit) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the execution archive", e);
+        }
+        List<ExecutionHistoryRow> rows = new ArrayList<>(newest);
+        rows.sort(OLDEST_FIRST.reversed());
+        return rows;
+    }
+
+    /**
+     * Archive files of all fact types by day, newest day first.
+     */
+    private Map<LocalDate, List<Path>> filesByDay(LocalDate from, LocalDate to) throws IOException {
+        Map<LocalDate, List<Path>> files = new TreeMap<>(Comparator.reverseOrder());
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> factTypes = Files.newDirectoryStream(directory, Files::isDirectory)) {
+            for (Path factType : factTypes) {
+                try (DirectoryStream<Path> days = Files.newDirectoryStream(factType, Files::isDirectory)) {
+                    for (Path dayDirectory : days) {
+                        LocalDate day;
+                        try {
+                            day = LocalDate.parse(dayDirectory.getFileName().toString());
+                        } catch (DateTimeParseException e) {
+                            continue;
+                        }
+                        if ((from != null && day.isBefore(from)) || (to != null && day.isAfter(to))) {
+                            continue;
+                        }
+                        try (DirectoryStream<Path> dayFiles = Files.newDirectoryStream(dayDirectory, "*" + ExecutionArchiveFile.EXTENSION)) {
+                            for (Path file : dayFiles) {
+                                files.computeIfAbsent(day, key -> new ArrayList<>()).add(file);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return files;
+    }
+
+    private Footer footer(Path file) throws IOException {
+        FileTime modified = Files.getLastModifiedTime(file);
+        CachedFooter cached = footers.get(file);
+        if (cached == null || !cached.modified().equals(modified)) {
+            cached = new CachedFooter(modified, ExecutionArchiveFile.readFooter(file));
+            footers.put(file, cached);
+        }
+        return cached.footer();
+    }
+
+    private Path fileOf(String factType, LocalDate day, String partition) {
+        return directory.resolve(factType).resolve(day.toString()).resolve(partition + ExecutionArchiveFile.EXTENSION);
+    }
+}
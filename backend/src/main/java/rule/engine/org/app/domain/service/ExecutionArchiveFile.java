@@ -0,0 +1,370 @@
+package rule.engine.org.app.domain.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import rule.engine.org.app.domain.repository.ExecutionHistoryRow;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * File format of the execution archive: execution history rows of one fact type and day, stored
+ * column by column. Layout: MAGIC, row groups, footer, footer length (int), MAGIC.
+ * A row group holds up to row-group-size rows as one deflated block per column, so writers buffer
+ * and readers decode one row group at a time. The footer is JSON and describes the file: its
+ * columns and their types, and per row group the offset and block lengths plus min/max of
+ * declaration id, rule id and executed-at (file-wide min/max too). Readers skip files and row
+ * groups whose ranges cannot hold the rows they look for. Rows are written sorted by declaration
+ * id, which keeps declaration ranges of row groups narrow.
+ */
+final class ExecutionArchiveFile {
+
+    static final String EXTENSION = ".rca";
+    static final int FORMAT_VERSION = 1;
+
+    private static final byte[] MAGIC = {'R', 'C', 'A', '1'};
+    private static final int TRAILER_LENGTH = Integer.BYTES + MAGIC.length;
+
+    private static final ObjectMapper FOOTER_MAPPER = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    enum ColumnType { LONG, STRING, BOOLEAN, DECIMAL, TIMESTAMP }
+
+    record Column(String name, ColumnType type) {
+    }
+
+    /**
+     * Columns in storage order, also listed in the footer; FORMAT_VERSION changes when they do.
+     */
+    static final List<Column> COLUMNS = List.of(
+        new Column("id", ColumnType.LONG),
+        new Column("declaration_id", ColumnType.STRING),
+        new Column("decision_rule_id", ColumnType.LONG),
+        new Column("rule_name", ColumnType.STRING),
+        new Column("rule_created_by", ColumnType.STRING),
+        new Column("matched", ColumnType.BOOLEAN),
+        new Column("rule_action", ColumnType.STRING),
+        new Column("rule_result", ColumnType.STRING),
+        new Column("rule_score", ColumnType.DECIMAL),
+        new Column("executed_at", ColumnType.TIMESTAMP),
+        new Column("execution_source", ColumnType.STRING));
+
+    /**
+     * Archived row: the history row and the creator of its rule, which history queries filter on.
+     */
+    record Row(ExecutionHistoryRow history, String ruleCreatedBy) {
+    }
+
+    /**
+     * Value ranges of a row group or file.
+     */
+    record Stats(String minDeclarationId, String maxDeclarationId,
+                 long minRuleId, long maxRuleId,
+                 LocalDateTime minExecutedAt, LocalDateTime maxExecutedAt) {
+
+        static Stats of(Row row) {
+            ExecutionHistoryRow history = row.history();
+            return new Stats(history.declarationId(), history.declarationId(),
+                history.ruleId(), history.ruleId(), history.executedAt(), history.executedAt());
+        }
+
+        Stats merge(Stats other) {
+            if (other == null) {
+                return this;
+            }
+            return new Stats(
+                min(minDeclarationId, other.minDeclarationId), max(maxDeclarationId, other.maxDeclarationId),
+                Math.min(minRuleId, other.minRuleId), Math.max(maxRuleId, other.maxRuleId),
+                min(minExecutedAt, other.minExecutedAt), max(maxExecutedAt, other.maxExecutedAt));
+        }
+
+        boolean mayContainDeclaration(String declarationId) {
+            return declarationId.compareTo(minDeclarationId) >= 0 && declarationId.compareTo(maxDeclarationId) <= 0;
+        }
+
+        boolean mayContainRule(long ruleId) {
+            return ruleId >= minRuleId && ruleId <= maxRuleId;
+        }
+
+        private static <T extends Comparable<? super T>> T min(T a, T b) {
+            return a.compareTo(b) <= 0 ? a : b;
+        }
+
+        private static <T extends Comparable<? super T>> T max(T a, T b) {
+            return a.compareTo(b) >= 0 ? a : b;
+        }
+    }
+
+    record RowGroup(long offset, int rows, int[] blockLengths, Stats stats) {
+    }
+
+    record Footer(int version, String factType, LocalDate day, List<Column> columns,
+                  List<RowGroup> rowGroups, long rows, Stats stats) {
+    }
+
+    private ExecutionArchiveFile() {
+    }
+
+    /**
+     * Writes one file. Rows go to a temporary file that replaces the target only on finish(),
+     * so readers never see a partial file and a failed write leaves an existing file untouched.
+     */
+    static final class Writer implements Closeable {
+
+        private final Path target;
+        private final Path temp;
+        private final String factType;
+        private final LocalDate day;
+        private final int rowGroupSize;
+        private final OutputStream out;
+        private final List<Row> buffer;
+        private final List<RowGroup> rowGroups = new ArrayList<>();
+        private long offset;
+        private long rows;
+        private Stats stats;
+        private boolean finished;
+
+        Writer(Path target, String factType, LocalDate day, int rowGroupSize) throws IOException {
+            this.target = target;
+            this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+            this.factType = factType;
+            this.day = day;
+            this.rowGroupSize = Math.max(1, rowGroupSize);
+            this.buffer = new ArrayList<>(this.rowGroupSize);
+            Files.createDirectories(target.getParent());
+            this.out = new BufferedOutputStream(Files.newOutputStream(temp));
+            out.write(MAGIC);
+            offset = MAGIC.length;
+        }
+
+        void write(Row row) throws IOException {
+            buffer.add(row);
+            if (buffer.size() >= rowGroupSize) {
+                flushRowGroup();
+            }
+        }
+
+        long rows() {
+            return rows + buffer.size();
+        }
+
+        void finish() throws IOException {
+            flushRowGroup();
+            byte[] footer = FOOTER_MAPPER.writeValueAsBytes(
+                new Footer(FORMAT_VERSION, factType, day, COLUMNS, rowGroups, rows, stats));
+            DataOutputStream data = new DataOutputStream(out);
+            data.write(footer);
+            data.writeInt(footer.length);
+            data.write(MAGIC);
+            data.flush();
+            out.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            finished = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!finished) {
+                out.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        private void flushRowGroup() throws IOException {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            Stats groupStats = null;
+            for (Row row : buffer) {
+                groupStats = groupStats == null ? Stats.of(row) : groupStats.merge(Stats.of(row));
+            }
+            int[] blockLengths = new int[COLUMNS.size()];
+            for (int column = 0; column < blockLengths.length; column++) {
+                byte[] block = encodeColumn(column, buffer);
+                out.write(block);
+                blockLengths[column] = block.length;
+            }
+            rowGroups.add(new RowGroup(offset, buffer.size(), blockLengths, groupStats));
+            offset += Arrays.stream(blockLengths).asLongStream().sum();
+            rows += buffer.size();
+            stats = groupStats.merge(stats);
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Read the footer from the end of a file.
+     */
+    static Footer readFooter(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < MAGIC.length + TRAILER_LENGTH) {
+                throw new IOException("Not an execution archive file: " + file);
+            }
+            ByteBuffer trailer = ByteBuffer.allocate(TRAILER_LENGTH);
+            channel.read(trailer, size - TRAILER_LENGTH);
+            trailer.flip();
+            int footerLength = trailer.getInt();
+            byte[] magic = new byte[MAGIC.length];
+            trailer.get(magic);
+            if (!Arrays.equals(magic, MAGIC) || footerLength <= 0 || footerLength > size - MAGIC.length - TRAILER_LENGTH) {
+                throw new IOException("Not an execution archive file: " + file);
+            }
+            ByteBuffer footer = ByteBuffer.allocate(footerLength);
+            channel.read(footer, size - TRAILER_LENGTH - footerLength);
+            return FOOTER_MAPPER.readValue(footer.array(), Footer.class);
+        }
+    }
+
+    /**
+     * Decode the row groups of a file accepted by the filter, one at a time.
+     */
+    static void scan(Path file, Footer footer, Predicate<Stats> rowGroupFilter, Consumer<Row> rows) throws IOException {
+        if (footer.version() != FORMAT_VERSION) {
+            throw new IOException("Unsupported execution archive version " + footer.version() + ": " + file);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (RowGroup group : footer.rowGroups()) {
+                if (!rowGroupFilter.test(group.stats())) {
+                    continue;
+                }
+                Object[][] columns = new Object[COLUMNS.size()][];
+                long position = group.offset();
+                for (int column = 0; column < columns.length; column++) {
+                    ByteBuffer block = ByteBuffer.allocate(group.blockLengths()[column]);
+                    while (block.hasRemaining() && channel.read(block, position + block.position()) >= 0) {
+                        // read until the block is complete
+                    }
+                    position += block.capacity();
+                    columns[column] = decodeColumn(COLUMNS.get(column).type(), block.array(), group.rows());
+                }
+                for (int i = 0; i < group.rows(); i++) {
+                    rows.accept(new Row(new ExecutionHistoryRow(
+                        (Long) columns[0][i], (String) columns[1][i], (Long) columns[2][i], (String) columns[3][i],
+                        (Boolean) columns[5][i], (String) columns[6][i], (String) columns[7][i],
+                        (BigDecimal) columns[8][i], (LocalDateTime) columns[9][i], (String) columns[10][i]),
+                        (String) columns[4][i]));
+                }
+            }
+        }
+    }
+
+    private static Object valueOf(int column, Row row) {
+        ExecutionHistoryRow history = row.history();
+        return switch (column) {
+            case 0 -> history.id();
+            case 1 -> history.declarationId();
+            case 2 -> history.ruleId();
+            case 3 -> history.ruleName();
+            case 4 -> row.ruleCreatedBy();
+            case 5 -> history.matched();
+            case 6 -> history.ruleAction();
+            case 7 -> history.ruleResult();
+            case 8 -> history.ruleScore();
+            case 9 -> history.executedAt();
+            case 10 -> history.executionSource();
+            default -> throw new IllegalArgumentException("No column " + column);
+        };
+    }
+
+    private static byte[] encodeColumn(int column, List<Row> rows) throws IOException {
+        ColumnType type = COLUMNS.get(column).type();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DataOutputStream data = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            for (Row row : rows) {
+                Object value = valueOf(column, row);
+                switch (type) {
+                    case LONG -> data.writeLong((Long) value);
+                    case STRING -> writeString(data, (String) value);
+                    case BOOLEAN -> data.writeByte(value == null ? -1 : (Boolean) value ? 1 : 0);
+                    case DECIMAL -> writeString(data, value != null ? ((BigDecimal) value).toPlainString() : null);
+                    case TIMESTAMP -> data.writeLong(epochMicros((LocalDateTime) value));
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object[] decodeColumn(ColumnType type, byte[] block, int rows) throws IOException {
+        Object[] values = new Object[rows];
+        try (DataInputStream data = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(block)))) {
+            for (int i = 0; i < rows; i++) {
+                values[i] = switch (type) {
+                    case LONG -> data.readLong();
+                    case STRING -> readString(data);
+                    case BOOLEAN -> {
+                        byte flag = data.readByte();
+                        yield flag < 0 ? null : flag == 1;
+                    }
+                    case DECIMAL -> {
+                        String decimal = readString(data);
+                        yield decimal != null ? new BigDecimal(decimal) : null;
+                    }
+                    case TIMESTAMP -> fromEpochMicros(data.readLong());
+                };
+            }
+        }
+        return values;
+    }
+
+    // Length-prefixed UTF-8, -1 for null (DataOutput.writeUTF is limited to 64 KB)
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        if (value == null) {
+            data.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        int length = data.readInt();
+        if (length < 0) {
+            return null;
+        }
+        return new String(data.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    // executed_at is a timestamp without time zone with microsecond precision
+    private static long epochMicros(LocalDateTime time) {
+        return Math.addExact(Math.multiplyExact(time.toEpochSecond(ZoneOffset.UTC), 1_000_000L), time.getNano() / 1_000);
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+            (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,287 @@
+package rule.engine.org.app.domain.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rule.engine.org.app.config.RuleEngineProperties;
+import rule.engine.org.app.config.RuleEngineProperties.ExecutionPartitions.Granularity;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintenance of the time partitions of rule_execution_results, which is range partitioned by
+ * executed_at (see V15). Keeps partitions created create-ahead periods beyond the current one and
+ * drops partitions that ended more than the retention period ago, after writing them to the
+ * ExecutionArchive and folding their rows into rule_execution_hourly_rollups in the same transaction.
+ * A retention without the archive enabled fails startup, so rows are never dropped unarchived.
+ * Runs at startup and on the configured cron.
+ * Every step takes a transaction-level advisory lock, so with several instances only one works at a time.
+ * Partition bounds are local date-times, like the executed_at values the application writes.
+ */
+@Service
+@Slf4j
+public class ExecutionPartitionManager {
+
+    static final String TABLE = "rule_execution_results";
+
+    private static final Pattern RANGE_BOUND = Pattern.compile("FOR VALUES FROM \\((.+)\\) TO \\((.+)\\)");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter DAILY_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter MONTHLY_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String LIST_PARTITIONS = """
+        SELECT c.relname, pg_get_expr(c.relpartbound, c.oid)
+        FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = to_regclass(?)
+        """;
+
+    // Adds to existing buckets, which only happens for partitions whose bounds are not on the hour (e.g. attached by hand)
+    private static final String ROLLUP = """
+        INSERT INTO rule_execution_hourly_rollups AS h (bucket_start, decision_rule_id, execution_source,
+            execution_count, matched_count, flagged_count, score_sum, score_max)
+        SELECT date_trunc('hour', executed_at), decision_rule_id, COALESCE(execution_source, 'API'),
+            count(*), count(*) FILTER (WHERE matched), count(*) FILTER (WHERE rule_action = 'FLAG'),
+            sum(rule_score), max(rule_score)
+        FROM %s
+        GROUP BY 1, 2, 3
+        ON CONFLICT (bucket_start, decision_rule_id, execution_source) DO UPDATE SET
+            execution_count = h.execution_count + EXCLUDED.execution_count,
+            matched_count = h.matched_count + EXCLUDED.matched_count,
+            flagged_count = h.flagged_count + EXCLUDED.flagged_count,
+            score_sum = COALESCE(h.score_sum + EXCLUDED.score_sum, h.score_sum, EXCLUDED.score_sum),
+            score_max = GREATEST(h.score_max, EXCLUDED.score_max)
+        """;
+
+    /**
+     * Partition of the table.
+     * @param from lower bound, null for MINVALUE and for the default partition
+     * @param to upper bound (exclusive), null for MAXVALUE and for the default partition
+     */
+    record Partition(String name, LocalDateTime from, LocalDateTime to, boolean isDefault) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutionArchive archive;
+    private final RuleEngineProperties.ExecutionPartitions settings;
+
+    public ExecutionPartitionManager(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     ExecutionArchive archive,
+                                     RuleEngineProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archive = archive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settings = properties.getExecutionPartitions();
+    }
+
+    @PostConstruct
+    void maintainAtStartup() {
+        if (settings.isEnabled() && hasRetention() && !archive.isEnabled()) {
+            throw new IllegalStateException("rule-engine.execution-partitions.retention is " + settings.getRetention()
+                + " but rule-engine.archive.enabled is false: expired partitions would be dropped without an archive."
+                + " Enable the archive or set the retention to 0.");
+        }
+        maintain();
+    }
+
+    /**
+     * Create the partitions due and drop the expired ones.
+     * Failures are logged; inserts beyond the last partition go to the default partition meanwhile.
+     */
+    @Scheduled(cron = "${rule-engine.execution-partitions.cron:0 15 * * * *}")
+    public void maintain() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        try {
+            if (!isPartitioned()) {
+                log.warn("{} is not a partitioned table, skipping partition maintenance", TABLE);
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            transactionTemplate.executeWithoutResult(status -> {
+                if (tryLock()) {
+                    createAhead(now);
+                }
+            });
+            if (hasRetention() && archive.isEnabled()) {
+                LocalDateTime cutoff = now.minus(settings.getRetention());
+                while (Boolean.TRUE.equals(transactionTemplate.execute(status -> tryLock() && dropOldest(cutoff)))) {
+                    // one partition per transaction, so each rollup commits with its drop
+                }
+            }
+        } catch (DataAccessException | UncheckedIOException e) {
+            log.error("Partition maintenance of {} failed", TABLE, e);
+        }
+    }
+
+    /**
+     * Create partitions from the end of the last one up to create-ahead periods past the current one.
+     */
+    private void createAhead(LocalDateTime now) {
+        List<Partition> partitions = listPartitions();
+        Partition defaultPartition = null;
+        LocalDateTime end = null;
+        for (Partition partition : partitions) {
+            if (partition.isDefault()) {
+                defaultPartition = partition;
+            } else if (partition.to() == null) {
+                log.warn("Partition {} of {} has no upper bound, not creating partitions", partition.name(), TABLE);
+                return;
+            } else if (end == null || partition.to().isAfter(end)) {
+                end = partition.to();
+            }
+        }
+
+        Granularity granularity = settings.getGranularity();
+        LocalDateTime horizon = startOfPeriod(now, granularity);
+        for (int i = 0; i <= Math.max(0, settings.getCreateAhead()); i++) {
+            horizon = nextBoundary(horizon, granularity);
+        }
+        if (end == null) {
+            end = startOfPeriod(now, granularity);
+        }
+        while (end.isBefore(horizon)) {
+            LocalDateTime next = nextBoundary(end, granularity);
+            createPartition(partitionName(end, granularity), end, next, defaultPartition);
+            end = next;
+        }
+    }
+
+    /**
+     * Create one partition. Rows of its range already in the default partition (written before it
+     * existed) would make a plain CREATE ... PARTITION OF fail, so they are moved into the new table
+     * before it is attached.
+     */
+    private void createPartition(String name, LocalDateTime from, LocalDateTime to, Partition defaultPartition) {
+        String bounds = "FOR VALUES FROM ('" + BOUND_FORMAT.format(from) + "') TO ('" + BOUND_FORMAT.format(to) + "')";
+        boolean stray = defaultPartition != null && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM " + quote(defaultPartition.name()) + " WHERE executed_at >= ? AND executed_at < ?)",
+            Boolean.class, from, to));
+        if (!stray) {
+            jdbcTemplate.execute("CREATE TABLE " + quote(name) + " PARTITION OF " + TABLE + " " + bounds);
+            log.info("Created partition {} of {} ({} to {})", name, TABLE, from, to);
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE " + quote(name) + " (LIKE " + TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update(
+            "WITH moved AS (DELETE FROM " + quote(defaultPartition.name()) +
+            " WHERE executed_at >= ? AND executed_at < ? RETURNING *) INSERT INTO " + quote(name) + " SELECT * FROM moved",
+            from, to);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + quote(name) + " " + bounds);
+        log.info("Created partition {} of {} ({} to {}) with {} rows moved from {}",
+            name, TABLE, from, to, moved, defaultPartition.name());
+    }
+
+    /**
+     * Archive, roll up and drop the oldest partition that ended before the cutoff.
+     * A failed archive write rolls the transaction back, so the partition is kept until it succeeds.
+     * @return false if there is none
+     */
+    private boolean dropOldest(LocalDateTime cutoff) {
+        Partition expired = listPartitions().stream()
+            .filter(partition -> !partition.isDefault() && partition.to() != null && !partition.to().isAfter(cutoff))
+            .min(Comparator.comparing(Partition::to))
+            .orElse(null);
+        if (expired == null) {
+            return false;
+        }
+        long archived = archive.archivePartition(expired.name());
+        log.info("Archived {} rows of partition {} of {}", archived, expired.name(), TABLE);
+        int buckets = jdbcTemplate.update(ROLLUP.formatted(quote(expired.name())));
+        jdbcTemplate.execute("DROP TABLE " + quote(expired.name()));
+        log.info("Dropped partition {} of {} (up to {}) after rolling it up into {} hourly buckets",
+            expired.name(), TABLE, expired.to(), buckets);
+        return true;
+    }
+
+    private boolean hasRetention() {
+        Duration retention = settings.getRetention();
+        return retention != null && retention.isPositive();
+    }
+
+    private boolean isPartitioned() {
+        List<String> kind = jdbcTemplate.queryForList(
+            "SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)", String.class, TABLE);
+        return kind.size() == 1 && "p".equals(kind.get(0));
+    }
+
+    /**
+     * Advisory lock held until the end of the current transaction, false if another instance holds it.
+     */
+    private boolean tryLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT pg_try_advisory_xact_lock(hashtext(?))", Boolean.class, TABLE + " partitions"));
+    }
+
+    private List<Partition> listPartitions() {
+        List<Partition> partitions = new ArrayList<>();
+        jdbcTemplate.query(LIST_PARTITIONS, rs -> {
+            String name = rs.getString(1);
+            String bound = rs.getString(2);
+            if ("DEFAULT".equals(bound)) {
+                partitions.add(new Partition(name, null, null, true));
+                return;
+            }
+            Matcher matcher = RANGE_BOUND.matcher(bound);
+            if (!matcher.matches()) {
+                log.warn("Ignoring partition {} of {} with unexpected bounds: {}", name, TABLE, bound);
+                return;
+            }
+            partitions.add(new Partition(name, parseBound(matcher.group(1)), parseBound(matcher.group(2)), false));
+        }, TABLE);
+        return partitions;
+    }
+
+    /**
+     * Bound as printed by pg_get_expr, e.g. '2026-10-17 00:00:00'; null for MINVALUE and MAXVALUE.
+     */
+    static LocalDateTime parseBound(String bound) {
+        if ("MINVALUE".equals(bound) || "MAXVALUE".equals(bound)) {
+            return null;
+        }
+        String value = bound.startsWith("'") && bound.endsWith("'") ? bound.substring(1, bound.length() - 1) : bound;
+        return LocalDateTime.parse(value.replace(' ', 'T'));
+    }
+
+    static LocalDateTime startOfPeriod(LocalDateTime time, Granularity granularity) {
+        return switch (granularity) {
+            case DAILY -> time.toLocalDate().atStartOfDay();
+            case MONTHLY -> time.toLocalDate().withDayOfMonth(1).atStartOfDay();
+        };
+    }
+
+    /**
+     * First period boundary after a time; partitions end on period boundaries even when the
+     * previous one did not (the legacy partition, or after a change of granularity).
+     */
+    static LocalDateTime nextBoundary(LocalDateTime time, Granularity granularity) {
+        return switch (granularity) {
+            case DAILY -> time.toLocalDate().plusDays(1).atStartOfDay();
+            case MONTHLY -> time.toLocalDate().withDayOfMonth(1).plusMonths(1).atStartOfDay();
+        };
+    }
+
+    static String partitionName(LocalDateTime from, Granularity granularity) {
+        DateTimeFormatter suffix = granularity == Granularity.DAILY ? DAILY_SUFFIX : MONTHLY_SUFFIX;
+        return TABLE + "_p" + suffix.format(from);
+    }
+
+    static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
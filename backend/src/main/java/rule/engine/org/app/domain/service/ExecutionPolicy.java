@@ -0,0 +1,124 @@
+package rule.engine.org.app.domain.service;
+
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.kie.api.runtime.KieSession;
+import rule.engine.org.app.config.RuleEngineProperties.Execution.Mode;
+import rule.engine.org.app.config.RuleEngineProperties.Execution.Policy;
+import rule.engine.org.app.domain.entity.execution.RuleAction;
+import rule.engine.org.app.domain.entity.execution.RuleHitList;
+import rule.engine.org.app.domain.entity.execution.TotalRuleResults;
+
+import java.math.BigDecimal;
+
+/**
+ * How far an execution fires the agenda. Policies other than ALL halt the session from an agenda
+ * listener as soon as the hits added so far meet them, so the remaining rules are neither
+ * evaluated nor fired. Checking a policy reads the running aggregate of the hit list and does not allocate.
+ * Rules fire in salience order except on partitioned fact types, where the fact's partition fires
+ * before the shared rules (RulePartitions).
+ */
+final class ExecutionPolicy {
+
+    static final ExecutionPolicy ALL = new ExecutionPolicy(Mode.ALL, 0, 0, "ALL");
+
+    private final Mode mode;
+    // FIRST_TERMINAL: least severe terminal action; TOP_N: hits
+    private final int limit;
+    // SCORE_THRESHOLD: threshold with RuleHitList.SCORE_SCALE decimals
+    private final long scoreThreshold;
+    private final String name;
+
+    private ExecutionPolicy(Mode mode, int limit, long scoreThreshold, String name) {
+        this.mode = mode;
+        this.limit = limit;
+        this.scoreThreshold = scoreThreshold;
+        this.name = name;
+    }
+
+    /**
+     * Policy of a fact type from its configuration.
+     * @throws IllegalArgumentException if the settings the mode needs are missing or invalid
+     */
+    static ExecutionPolicy of(String factType, Policy policy) {
+        Mode mode = policy != null && policy.getMode() != null ? policy.getMode() : Mode.ALL;
+        switch (mode) {
+            case FIRST_TERMINAL -> {
+                RuleAction terminal = RuleAction.of(policy.getTerminalAction());
+                if (terminal == null) {
+                    throw new IllegalArgumentException("Unknown terminal-action '" + policy.getTerminalAction()
+                        + "' in the execution policy of " + factType);
+                }
+                return new ExecutionPolicy(mode, terminal.getSeverity(), 0, mode + "(" + terminal + ")");
+            }
+            case TOP_N -> {
+                if (policy.getMaxHits() < 1) {
+                    throw new IllegalArgumentException("max-hits must be at least 1 in the execution policy of " + factType);
+                }
+                return new ExecutionPolicy(mode, policy.getMaxHits(), 0, mode + "(" + policy.getMaxHits() + ")");
+            }
+            case SCORE_THRESHOLD -> {
+                BigDecimal threshold = policy.getScoreThreshold();
+                if (threshold == null) {
+                    throw new IllegalArgumentException("score-threshold is required in the execution policy of " + factType);
+                }
+                return new ExecutionPolicy(mode, 0, RuleHitList.fixedPoint(threshold),
+                    mode + "(" + threshold.toPlainString() + ")");
+            }
+            default -> {
+                return ALL;
+            }
+        }
+    }
+
+    /**
+     * False for ALL, which needs no listener.
+     */
+    boolean stopsEarly() {
+        return mode != Mode.ALL;
+    }
+
+    /**
+     * Whether the hits added so far meet the policy.
+     */
+    boolean isMet(RuleHitList hits) {
+        return switch (mode) {
+            case FIRST_TERMINAL -> hits.finalSeverity() >= limit;
+            case TOP_N -> hits.size() >= limit;
+            case SCORE_THRESHOLD -> hits.totalScore() >= scoreThreshold;
+            case ALL -> false;
+        };
+    }
+
+    /**
+     * Name reported with the results, e.g. FIRST_TERMINAL(REJECT) or TOP_N(5).
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * Halts the session once the policy is met by the hits of the per-call totalResults global.
+     * Registered on the stateless session of a container after the hit attribution listener.
+     */
+    static final class HaltListener extends DefaultAgendaEventListener {
+        private final ExecutionPolicy policy;
+
+        HaltListener(ExecutionPolicy policy) {
+            this.policy = policy;
+        }
+
+        @Override
+        public void afterMatchFired(AfterMatchFiredEvent event) {
+            if (event.getKieRuntime().getGlobal("totalResults") instanceof TotalRuleResults results
+                    && !results.isStoppedEarly()
+                    && results.getHits() instanceof RuleHitList hits
+                    && policy.isMet(hits)
+                    && event.getKieRuntime() instanceof KieSession session) {
+                results.setStoppedEarly(true);
+                session.halt();
+            }
+        }
+    }
+}
@@ -0,0 +1,503 @@
+package rule.engine.org.app.domain.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rule.engine.org.app.config.RuleEngineProperties;
+import rule.engine.org.app.config.RuleEngineProperties.ResultWriter.OverflowPolicy;
+import rule.engine.org.app.domain.entity.execution.RuleOutputHit;
+import rule.engine.org.app.domain.entity.execution.TotalRuleResults;
+import rule.engine.org.app.domain.entity.ui.DecisionRule;
+import rule.engine.org.app.domain.entity.ui.FactType;
+import rule.engine.org.app.domain.entity.ui.RuleExecutionResult;
+import rule.engine.org.app.domain.repository.DecisionRuleRepository;
+import rule.engine.org.app.domain.repository.RuleExecutionResultRepository;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind persistence of rule execution results.
+ * Submitted executions are also counted by RuleFireCounter as they arrive.
+ * Executions enqueue their hits and return immediately; a single writer thread drains the
+ * bounded queue and writes rows in JDBC batches. Hits arrive already attributed to their
+ * rule (RuleOutputHit.ruleId), so writing only checks which of the batch's rules still exist, in
+ * one query. When the queue is full the overflow policy decides
+ * whether the caller waits (BLOCK), the execution is not recorded (DROP) or it is appended
+ * to a spill file that is replayed once the queue has room again (SPILL).
+ */
+@Service
+@Slf4j
+public class ExecutionResultWriter {
+
+    /**
+     * Execution waiting to be persisted. Also the NDJSON line format of spill files.
+     */
+    record PendingExecution(
+            String declarationId,
+            FactType factType,
+            String executionSource,
+            LocalDateTime executedAt,
+            List<RuleOutputHit> hits) {
+    }
+
+    private static final String SPILL_FILE = "execution-results.spill";
+    private static final String REPLAY_SUFFIX = ".replay";
+    // Lines of a replay file consumed by committed batches; unreadable spilled lines
+    private static final String OFFSET_SUFFIX = ".offset";
+    private static final String BAD_SUFFIX = ".bad";
+
+    private final DecisionRuleRepository decisionRuleRepository;
+    private final RuleExecutionResultRepository executionResultRepository;
+    private final RuleFireCounter fireCounter;
+    private final TransactionTemplate transactionTemplate;
+    private final RuleEngineProperties.ResultWriter settings;
+
+    private final BlockingQueue<PendingExecution> queue;
+    private final ObjectMapper spillMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final Object spillLock = new Object();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    private final LongAdder badSpillLines = new LongAdder();
+
+    private volatile boolean running = true;
+    private Thread writerThread;
+    // Replay of spilled executions is paused for a while after a failed flush
+    private long replayPausedUntil = System.nanoTime();
+
+    public ExecutionResultWriter(DecisionRuleRepository decisionRuleRepository,
+                                 RuleExecutionResultRepository executionResultRepository,
+                                 RuleFireCounter fireCounter,
+                                 PlatformTransactionManager transactionManager,
+                                 RuleEngineProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.decisionRuleRepository = decisionRuleRepository;
+        this.executionResultRepository = executionResultRepository;
+        this.fireCounter = fireCounter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settings = properties.getResultWriter();
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity()));
+
+        Gauge.builder("rule.engine.result.writer.queue.depth", queue, BlockingQueue::size)
+            .description("Executions waiting to be persisted")
+            .register(meterRegistry);
+        FunctionCounter.builder("rule.engine.result.writer.rows", written, LongAdder::sum)
+            .description("Execution result rows written")
+            .register(meterRegistry);
+        FunctionCounter.builder("rule.engine.result.writer.dropped", dropped, LongAdder::sum)
+            .description("Executions whose results were dropped")
+            .register(meterRegistry);
+        FunctionCounter.builder("rule.engine.result.writer.spilled", spilled, LongAdder::sum)
+            .description("Executions spilled to disk")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        writerThread = new Thread(this::runWriter, "execution-result-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Execution result writer started (capacity={}, flushSize={}, flushInterval={}, policy={})",
+            settings.getQueueCapacity(), settings.getFlushSize(), settings.getFlushInterval(), settings.getOverflowPolicy());
+    }
+
+    /**
+     * Queue the hits of one execution for persistence. Executions without hits are ignored.
+     */
+    public void submit(String declarationId, FactType factType, TotalRuleResults results, String executionSource) {
+        if (results == null || results.getHits() == null || results.getHits().isEmpty()) {
+            return;
+        }
+        LocalDateTime executedAt = results.getRunAt() != null ? results.getRunAt() : LocalDateTime.now();
+        PendingExecution pending = new PendingExecution(
+            declarationId, factType, executionSource, executedAt, new ArrayList<>(results.getHits()));
+        submitted.increment();
+        fireCounter.record(pending.hits(), executedAt, executionSource);
+
+        if (!running) {
+            // Shutting down: the writer thread may already be gone, write on the caller
+            flush(List.of(pending));
+            return;
+        }
+
+        try {
+            boolean accepted = switch (settings.getOverflowPolicy()) {
+                case BLOCK -> queue.offer(pending, settings.getBlockTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                case DROP, SPILL -> queue.offer(pending);
+            };
+            if (accepted) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (settings.getOverflowPolicy() == OverflowPolicy.SPILL && spill(List.of(pending))) {
+            return;
+        }
+        dropped.increment();
+        log.warn("Execution result queue full, dropped results for {} {}", factType, declarationId);
+    }
+
+    private void runWriter() {
+        int flushSize = Math.max(1, settings.getFlushSize());
+        long flushIntervalNanos = settings.getFlushInterval().toNanos();
+        List<PendingExecution> batch = new ArrayList<>(flushSize);
+        long batchStarted = 0;
+
+        while (running || !queue.isEmpty()) {
+            try {
+                long waitNanos = batch.isEmpty()
+                    ? flushIntervalNanos
+                    : flushIntervalNanos - (System.nanoTime() - batchStarted);
+                PendingExecution next = waitNanos > 0 ? queue.poll(waitNanos, TimeUnit.NANOSECONDS) : queue.poll();
+                if (next != null) {
+                    if (batch.isEmpty()) {
+                        batchStarted = System.nanoTime();
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, flushSize - batch.size());
+                }
+
+                boolean intervalElapsed = !batch.isEmpty() && System.nanoTime() - batchStarted >= flushIntervalNanos;
+                if (batch.size() >= flushSize || intervalElapsed || (!running && !batch.isEmpty())) {
+                    flush(batch);
+                    batch = new ArrayList<>(flushSize);
+                }
+
+                if (batch.isEmpty() && queue.size() < queue.remainingCapacity()
+                        && System.nanoTime() - replayPausedUntil >= 0) {
+                    replaySpill(flushSize);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Execution result writer loop failed", e);
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    /**
+     * Write a batch of executions in one transaction. If the batch fails, its executions are
+     * retried one at a time so a single bad execution does not sink the others. Executions that
+     * still fail while others were written cannot be written at all and are dropped; if none could
+     * be written the database is likely unavailable, and the batch is spilled under the SPILL
+     * policy, otherwise counted as dropped.
+     */
+    private void flush(List<PendingExecution> batch) {
+        try {
+            int rows = write(batch);
+            written.add(rows);
+            log.debug("Flushed {} execution results for {} executions", rows, batch.size());
+            return;
+        } catch (Exception e) {
+            failedFlushes.increment();
+            if (batch.size() == 1) {
+                failed(batch, e);
+                return;
+            }
+            log.warn("Failed to write {} queued executions, retrying them one at a time: {}", batch.size(), e.getMessage());
+        }
+
+        List<PendingExecution> failed = new ArrayList<>();
+        Exception lastError = null;
+        for (PendingExecution pending : batch) {
+            try {
+                written.add(write(List.of(pending)));
+            } catch (Exception e) {
+                failed.add(pending);
+                lastError = e;
+            }
+        }
+        if (failed.isEmpty()) {
+            return;
+        }
+        if (failed.size() < batch.size()) {
+            // Not retried: replaying them would fail the same way
+            dropped.add(failed.size());
+            log.error("Dropped {} of {} queued executions that cannot be written", failed.size(), batch.size(), lastError);
+        } else {
+            failed(failed, lastError);
+        }
+    }
+
+    private int write(List<PendingExecution> batch) {
+        return transactionTemplate.execute(status -> {
+            Set<Long> existingRuleIds = existingRuleIds(batch);
+            List<RuleExecutionResult> executionResults = new ArrayList<>();
+            for (PendingExecution pending : batch) {
+                executionResults.addAll(buildExecutionResults(pending, existingRuleIds));
+            }
+            executionResultRepository.saveAll(executionResults);
+            return executionResults.size();
+        });
+    }
+
+    private void failed(List<PendingExecution> executions, Exception error) {
+        replayPausedUntil = System.nanoTime() + 10 * settings.getFlushInterval().toNanos();
+        log.error("Failed to write {} queued executions", executions.size(), error);
+        if (settings.getOverflowPolicy() != OverflowPolicy.SPILL || !spill(executions)) {
+            dropped.add(executions.size());
+        }
+    }
+
+    /**
+     * Rules hit by a batch that still exist, looked up in one query. Rules can be deleted while
+     * their executions are queued, and version executions attribute hits to historical rule IDs.
+     */
+    private Set<Long> existingRuleIds(List<PendingExecution> batch) {
+        Set<Long> ruleIds = new HashSet<>();
+        for (PendingExecution pending : batch) {
+            for (RuleOutputHit hit : pending.hits()) {
+                if (hit.getRuleId() != null) {
+                    ruleIds.add(hit.getRuleId());
+                }
+            }
+        }
+        return ruleIds.isEmpty() ? ruleIds : new HashSet<>(decisionRuleRepository.findExistingIds(ruleIds));
+    }
+
+    /**
+     * Build one row per rule that hit, keeping the first hit of each rule.
+     * Hits were attributed by the engine against the executing container's rule index,
+     * so the rule is referenced by ID without loading it. Hits of rules deleted since are skipped.
+     */
+    private List<RuleExecutionResult> buildExecutionResults(PendingExecution pending, Set<Long> existingRuleIds) {
+        Map<Long, RuleOutputHit> hitsByRuleId = new LinkedHashMap<>();
+        for (RuleOutputHit hit : pending.hits()) {
+            if (hit.getRuleId() != null && existingRuleIds.contains(hit.getRuleId())) {
+                hitsByRuleId.putIfAbsent(hit.getRuleId(), hit);
+            }
+        }
+
+        List<RuleExecutionResult> executionResults = new ArrayList<>(hitsByRuleId.size());
+        hitsByRuleId.forEach((ruleId, hit) -> executionResults.add(
+            toExecutionResult(pending, decisionRuleRepository.getReferenceById(ruleId), hit)));
+        return executionResults;
+    }
+
+    private static RuleExecutionResult toExecutionResult(PendingExecution pending, DecisionRule rule, RuleOutputHit hit) {
+        RuleExecutionResult executionResult = new RuleExecutionResult();
+        executionResult.setDeclarationId(pending.declarationId());
+        executionResult.setDecisionRule(rule);
+        executionResult.setMatched(true);
+        executionResult.setExecutedAt(pending.executedAt());
+        executionResult.setExecutionSource(pending.executionSource());
+        executionResult.setRuleAction(hit.getAction());
+        executionResult.setRuleResult(hit.getResult());
+        executionResult.setRuleScore(hit.getScore());
+        return executionResult;
+    }
+
+    /**
+     * Append executions to the spill file as NDJSON. Returns false if the disk write failed.
+     */
+    private boolean spill(List<PendingExecution> executions) {
+        synchronized (spillLock) {
+            try {
+                Path dir = Path.of(settings.getSpillDirectory());
+                Files.createDirectories(dir);
+                try (BufferedWriter writer = Files.newBufferedWriter(dir.resolve(SPILL_FILE), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (PendingExecution pending : executions) {
+                        writer.write(spillMapper.writeValueAsString(pending));
+                        writer.newLine();
+                    }
+                }
+                spilled.add(executions.size());
+                return true;
+            } catch (IOException e) {
+                log.error("Failed to spill {} executions to {}", executions.size(), settings.getSpillDirectory(), e);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Write back spilled executions, oldest file first. The current spill file is renamed
+     * before reading so producers keep appending to a fresh one.
+     * The lines consumed by committed batches are recorded next to the replay file, so a replay
+     * interrupted by a crash or a failure resumes after them instead of writing them again.
+     * Lines that do not parse (e.g. cut short when the disk filled up while spilling) are moved
+     * to the .bad file and skipped.
+     */
+    private void replaySpill(int flushSize) throws IOException {
+        Path dir = Path.of(settings.getSpillDirectory());
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        Path replay = nextReplayFile(dir);
+        if (replay == null) {
+            synchronized (spillLock) {
+                Path spillFile = dir.resolve(SPILL_FILE);
+                if (!Files.exists(spillFile)) {
+                    return;
+                }
+                replay = dir.resolve(SPILL_FILE + "." + System.currentTimeMillis() + REPLAY_SUFFIX);
+                Files.move(spillFile, replay);
+            }
+        }
+
+        Path offsetFile = replay.resolveSibling(replay.getFileName() + OFFSET_SUFFIX);
+        long committedLines = readOffset(offsetFile);
+        List<PendingExecution> batch = new ArrayList<>(flushSize);
+        long lineNumber = 0;
+        int replayed = 0;
+        int bad = 0;
+        try (BufferedReader reader = Files.newBufferedReader(replay, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= committedLines || line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(spillMapper.readValue(line, PendingExecution.class));
+                } catch (JsonProcessingException e) {
+                    quarantine(dir, line);
+                    bad++;
+                    continue;
+                }
+                if (batch.size() >= flushSize) {
+                    flush(batch);
+                    replayed += batch.size();
+                    batch = new ArrayList<>(flushSize);
+                    writeOffset(offsetFile, lineNumber);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+            replayed += batch.size();
+        }
+        // Batches that failed again were re-spilled by flush, so the replay file is done either way
+        Files.delete(replay);
+        Files.deleteIfExists(offsetFile);
+        if (bad > 0) {
+            badSpillLines.add(bad);
+            log.error("Skipped {} unreadable spilled executions of {}, moved to {}", bad, replay.getFileName(), SPILL_FILE + BAD_SUFFIX);
+        }
+        log.info("Replayed {} spilled executions from {}", replayed, replay.getFileName());
+    }
+
+    private static long readOffset(Path offsetFile) {
+        try {
+            return Files.exists(offsetFile) ? Long.parseLong(Files.readString(offsetFile).trim()) : 0;
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Unreadable replay offset {}, replaying from the start: {}", offsetFile.getFileName(), e.getMessage());
+            return 0;
+        }
+    }
+
+    private static void writeOffset(Path offsetFile, long lines) throws IOException {
+        Path temp = offsetFile.resolveSibling(offsetFile.getFileName() + ".tmp");
+        Files.writeString(temp, Long.toString(lines));
+        Files.move(temp, offsetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void quarantine(Path dir, String line) throws IOException {
+        Files.writeString(dir.resolve(SPILL_FILE + BAD_SUFFIX), line + System.lineSeparator(), StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static Path nextReplayFile(Path dir) throws IOException {
+        Path oldest = null;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, SPILL_FILE + ".*" + REPLAY_SUFFIX)) {
+            for (Path file : files) {
+                if (oldest == null || file.getFileName().toString().compareTo(oldest.getFileName().toString()) < 0) {
+                    oldest = file;
+                }
+            }
+        }
+        return oldest;
+    }
+
+    /**
+     * Stop accepting queued work and flush everything still pending before the datasource closes.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (writerThread == null) {
+            return;
+        }
+        // No interrupt: the writer notices the flag within one flush interval and drains the queue
+        try {
+            writerThread.join(settings.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            log.warn("Execution result writer did not drain within {}, {} executions left in queue",
+                settings.getShutdownTimeout(), queue.size());
+        } else {
+            log.info("Execution result writer stopped ({} rows written, {} dropped, {} spilled)",
+                written.sum(), dropped.sum(), spilled.sum());
+        }
+    }
+
+    /**
+     * Queue depth and throughput counters for monitoring.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("queueDepth", queue.size());
+        stats.put("queueCapacity", settings.getQueueCapacity());
+        stats.put("overflowPolicy", settings.getOverflowPolicy().name());
+        stats.put("submitted", submitted.sum());
+        stats.put("written", written.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("spilled", spilled.sum());
+        stats.put("failedFlushes", failedFlushes.sum());
+        stats.put("badSpillLines", badSpillLines.sum());
+        return stats;
+    }
+
+    /**
+     * Current number of executions waiting in the queue.
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+}
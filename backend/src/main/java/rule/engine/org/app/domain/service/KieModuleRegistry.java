@@ -0,0 +1,235 @@
+package rule.engine.org.app.domain.service;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieModule;
+import org.kie.api.builder.KieRepository;
+import org.kie.api.builder.ReleaseId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lifecycle of the KieModules RuleEngineManager registers in the process-wide KieRepository.
+ * The repository never forgets a module on its own, so every module is tracked here and removed
+ * when the container built from it is disposed. As a backstop against modules whose owner never
+ * releases them, at most maxVersionsPerFactType version modules are kept per fact type (newest
+ * versions first, pinned versions always), and temporary modules expire after temporaryTtl.
+ */
+class KieModuleRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(KieModuleRegistry.class);
+
+    enum Kind {
+        /** Incrementally updated module behind the live containers of a fact type. */
+        WORKSPACE,
+        /** One-off build of a deployed version (historical-version executions). */
+        VERSION,
+        /** One-off build for change-request validation, released by the caller when done. */
+        TEMPORARY,
+        /** Module loaded from a persisted artifact; the same artifact may back several containers. */
+        ARTIFACT
+    }
+
+    /**
+     * A registered module. Estimated bytes cover the module's in-memory resources
+     * (DRL and generated classes); KieBases built from it are accounted to their containers.
+     */
+    record Entry(ReleaseId releaseId, Kind kind, String factType, long version, int ruleCount,
+                 long estimatedBytes, long registeredAtNanos) {
+    }
+
+    private final KieRepository repository;
+    private final int maxVersionsPerFactType;
+    private final long temporaryTtlNanos;
+
+    // Registered modules by release ID, in registration order
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    // Containers sharing each registered artifact module
+    private final Map<String, Integer> artifactRefs = new HashMap<>();
+    // factType -> pinned (active) version
+    private final Map<String, Long> pinnedVersions = new ConcurrentHashMap<>();
+    // Makes the repository release ID of every one-off build unique
+    private final AtomicLong buildSequence = new AtomicLong();
+    private final LongAdder evictions = new LongAdder();
+
+    KieModuleRegistry(int maxVersionsPerFactType, Duration temporaryTtl) {
+        this.repository = KieServices.Factory.get().getRepository();
+        this.maxVersionsPerFactType = Math.max(1, maxVersionsPerFactType);
+        this.temporaryTtlNanos = temporaryTtl.toNanos();
+    }
+
+    /**
+     * Release ID under which a one-off build is registered. Distinct from the
+     * org.rule:{factType}:{version}.0.0 release ID reported for the version, so that releasing
+     * one build can never remove another build of the same version.
+     */
+    ReleaseId newBuildReleaseId(Kind kind, String factType, long version) {
+        return KieServices.Factory.get().newReleaseId("org.rule", factType.toLowerCase(),
+            version + ".0.0-" + kind.name().toLowerCase() + "-" + buildSequence.incrementAndGet());
+    }
+
+    /**
+     * Add a module to the KieRepository and track it. Registering a workspace again after an
+     * incremental build only refreshes its size estimate.
+     */
+    void register(KieModule module, Kind kind, String factType, long version, int ruleCount) {
+        Entry entry = new Entry(module.getReleaseId(), kind, factType, version, ruleCount,
+            estimateBytes(module), System.nanoTime());
+        List<Entry> evicted;
+        synchronized (this) {
+            Entry previous = entries.put(key(entry.releaseId()), entry);
+            if (kind == Kind.ARTIFACT) {
+                artifactRefs.merge(key(entry.releaseId()), 1, Integer::sum);
+            }
+            if (previous == null || kind != Kind.WORKSPACE) {
+                repository.addKieModule(module);
+            }
+            evicted = evictOverflow(factType, entry.registeredAtNanos());
+        }
+        evicted.forEach(this::logEviction);
+    }
+
+    /**
+     * Remove a module from the KieRepository (its container was disposed or its build failed).
+     * An artifact module stays until its last container releases it. Unknown release IDs are ignored.
+     */
+    void release(ReleaseId releaseId) {
+        synchronized (this) {
+            String key = key(releaseId);
+            Integer refs = artifactRefs.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+            if (refs != null || entries.remove(key) == null) {
+                return;
+            }
+            repository.removeKieModule(releaseId);
+        }
+    }
+
+    /**
+     * Pin the active version of a fact type so its version modules are never evicted.
+     */
+    void pin(String factType, long version) {
+        pinnedVersions.put(factType, version);
+    }
+
+    /**
+     * Evict expired temporary modules and, for the given fact type, the oldest unpinned
+     * version modules beyond the retention limit. Must be called while holding the monitor.
+     */
+    private List<Entry> evictOverflow(String factType, long now) {
+        List<Entry> evicted = new ArrayList<>();
+        entries.values().removeIf(entry -> {
+            boolean expired = entry.kind() == Kind.TEMPORARY && now - entry.registeredAtNanos() > temporaryTtlNanos;
+            if (expired) {
+                evicted.add(entry);
+            }
+            return expired;
+        });
+
+        Long pinned = pinnedVersions.get(factType);
+        List<Entry> versions = entries.values().stream()
+            .filter(entry -> entry.kind() == Kind.VERSION && entry.factType().equals(factType))
+            .sorted(Comparator.comparingLong(Entry::version).reversed()
+                .thenComparing(Comparator.comparingLong(Entry::registeredAtNanos).reversed()))
+            .toList();
+        int retained = 0;
+        for (Entry entry : versions) {
+            if (pinned != null && pinned == entry.version()) {
+                continue;
+            }
+            if (++retained > maxVersionsPerFactType) {
+                entries.remove(key(entry.releaseId()));
+                evicted.add(entry);
+            }
+        }
+
+        evicted.forEach(entry -> repository.removeKieModule(entry.releaseId()));
+        evictions.add(evicted.size());
+        return evicted;
+    }
+
+    private void logEviction(Entry entry) {
+        log.info("Evicted {} module {} ({} rules) from the KieRepository", entry.kind(), entry.releaseId(), entry.ruleCount());
+    }
+
+    private static long estimateBytes(KieModule module) {
+        if (!(module instanceof InternalKieModule internal)) {
+            return 0;
+        }
+        long bytes = 0;
+        for (String fileName : internal.getFileNames()) {
+            byte[] content = internal.getBytes(fileName);
+            if (content != null) {
+                bytes += content.length;
+            }
+        }
+        return bytes;
+    }
+
+    private static String key(ReleaseId releaseId) {
+        return releaseId.toExternalForm();
+    }
+
+    /**
+     * Remove every tracked module from the KieRepository (shutdown).
+     */
+    synchronized void clear() {
+        entries.values().forEach(entry -> repository.removeKieModule(entry.releaseId()));
+        entries.clear();
+        artifactRefs.clear();
+    }
+
+    /**
+     * Number of retained modules of one kind.
+     */
+    synchronized int count(Kind kind) {
+        return (int) entries.values().stream().filter(entry -> entry.kind() == kind).count();
+    }
+
+    /**
+     * Estimated bytes retained by the modules of one kind.
+     */
+    synchronized long estimatedBytes(Kind kind) {
+        return entries.values().stream().filter(entry -> entry.kind() == kind).mapToLong(Entry::estimatedBytes).sum();
+    }
+
+    /**
+     * Retention statistics for monitoring.
+     */
+    Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        Map<Kind, Integer> counts = new EnumMap<>(Kind.class);
+        Map<Kind, Long> bytes = new EnumMap<>(Kind.class);
+        Map<String, Integer> versionsByFactType = new HashMap<>();
+        synchronized (this) {
+            for (Entry entry : entries.values()) {
+                counts.merge(entry.kind(), 1, Integer::sum);
+                bytes.merge(entry.kind(), entry.estimatedBytes(), Long::sum);
+                if (entry.kind() == Kind.VERSION) {
+                    versionsByFactType.merge(entry.factType(), 1, Integer::sum);
+                }
+            }
+            stats.put("modules", entries.size());
+        }
+        stats.put("modulesByKind", counts);
+        stats.put("estimatedRetainedBytesByKind", bytes);
+        stats.put("estimatedRetainedBytes", bytes.values().stream().mapToLong(Long::longValue).sum());
+        stats.put("versionModulesByFactType", versionsByFactType);
+        stats.put("maxVersionsPerFactType", maxVersionsPerFactType);
+        stats.put("temporaryTtlSeconds", Duration.ofNanos(temporaryTtlNanos).toSeconds());
+        stats.put("evictions", evictions.sum());
+        stats.put("pinnedVersions", new HashMap<>(pinnedVersions));
+        return stats;
+    }
+}
@@ -0,0 +1,294 @@
+package rule.engine.org.app.domain.service;
+
+import org.drools.base.util.Drools;
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieModule;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.ReleaseId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rule.engine.org.app.config.RuleEngineProperties.Compile.BuildMode;
+import rule.engine.org.app.domain.entity.ui.FactType;
+import rule.engine.org.app.util.DrlConstants;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Compiled rule artifacts on local disk, so a restart loads the live containers instead of
+ * recompiling every rule from its DRL text.
+ *
+ * An artifact is an executable-model kjar of one fact type's rules. Loading a DRL kjar would
+ * compile the DRL again, while an executable-model kjar only loads the generated classes.
+ * Artifacts are keyed by the rules hash, a fingerprint of the fact model the DRL compiles against
+ * (DRL header and fields of the imported classes) and the Drools version; any difference is a miss
+ * and the rules are compiled as usual. Generating the executable model takes longer than the DRL
+ * build, so artifacts are written on a background thread after a build has been published; fact
+ * types built in executable-model mode hand over their compiled module instead.
+ */
+class RuleArtifactStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RuleArtifactStore.class);
+
+    private static final String EXTENSION = ".kjar";
+
+    // Either the DRL sources to compile or an executable-model module compiled by a deploy
+    private record PendingArtifact(String rulesHash, int ruleCount, Map<String, String> sources,
+                                   InternalKieModule compiled) {
+    }
+
+    private final Path directory;
+    private final int maxArtifactsPerFactType;
+
+    // Latest build per fact type still waiting to be written; a newer deploy replaces it
+    private final Map<String, PendingArtifact> pending = new ConcurrentHashMap<>();
+    // Model fingerprint by fact type
+    private final Map<String, String> modelFingerprints = new ConcurrentHashMap<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rule-artifact-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    RuleArtifactStore(Path directory, int maxArtifactsPerFactType) {
+        this.directory = directory;
+        this.maxArtifactsPerFactType = Math.max(1, maxArtifactsPerFactType);
+    }
+
+    /**
+     * Load the artifact of a rule set into the KieRepository.
+     * @return the loaded module, or null if there is no artifact for these rules
+     */
+    KieModule load(String factType, String rulesHash) {
+        Path path = pathFor(factType, rulesHash);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            KieServices kieServices = KieServices.Factory.get();
+            return kieServices.getRepository().addKieModule(
+                kieServices.getResources().newByteArrayResource(Files.readAllBytes(path)));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Discarding unreadable rule artifact {}: {}", path, e.getMessage());
+            delete(factType, rulesHash);
+            return null;
+        }
+    }
+
+    /**
+     * Remove the artifact of a rule set (it failed to load into a working container).
+     */
+    void delete(String factType, String rulesHash) {
+        try {
+            Files.deleteIfExists(pathFor(factType, rulesHash));
+        } catch (IOException e) {
+            log.warn("Could not delete rule artifact for {} ({}): {}", factType, rulesHash, e.getMessage());
+        }
+    }
+
+    /**
+     * Write the artifact of a published rule set in the background, unless it already exists.
+     * @param sources DRL resources by path, as compiled for the live container
+     */
+    void storeAsync(String factType, String rulesHash, Map<String, String> sources) {
+        if (Files.isRegularFile(pathFor(factType, rulesHash))) {
+            return;
+        }
+        schedule(factType, new PendingArtifact(rulesHash, sources.size(), sources, null));
+    }
+
+    /**
+     * Write an executable-model module compiled by a deploy as the artifact of its rule set,
+     * in the background, unless it already exists. The module must not change afterwards.
+     */
+    void storeAsync(String factType, String rulesHash, KieModule compiled, int ruleCount) {
+        if (Files.isRegularFile(pathFor(factType, rulesHash))) {
+            return;
+        }
+        schedule(factType, new PendingArtifact(rulesHash, ruleCount, null, (InternalKieModule) compiled));
+    }
+
+    private void schedule(String factType, PendingArtifact artifact) {
+        pending.put(factType, artifact);
+        writer.execute(() -> writePending(factType));
+    }
+
+    private void writePending(String factType) {
+        PendingArtifact artifact = pending.remove(factType);
+        if (artifact == null) {
+            return;
+        }
+        Path path = pathFor(factType, artifact.rulesHash());
+        if (Files.isRegularFile(path)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            byte[] kjar = compile(factType, artifact);
+            if (kjar == null) {
+                return;
+            }
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            Files.write(temp, kjar);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Stored rule artifact {} ({} rules, {} KB) in {} ms", path, artifact.ruleCount(),
+                kjar.length / 1024, (System.nanoTime() - start) / 1_000_000);
+            pruneOldArtifacts(path.getParent());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not store rule artifact for {} ({}): {}", factType, artifact.rulesHash(), e.getMessage());
+        }
+    }
+
+    /**
+     * Build the executable-model kjar. Returns null if the rules do not compile to the
+     * executable model; boot then falls back to compiling the DRL.
+     */
+    private byte[] compile(String factType, PendingArtifact artifact) throws IOException {
+        if (artifact.compiled() != null) {
+            return uncompressed(artifact.compiled().getBytes());
+        }
+        KieServices kieServices = KieServices.Factory.get();
+        ReleaseId releaseId = kieServices.newReleaseId("org.rule", factType.toLowerCase(),
+            "artifact-" + artifact.rulesHash());
+        KieBuilder kieBuilder = RuleWorkspace.buildAll(kieServices.newKieFileSystem(), releaseId,
+            artifact.sources(), BuildMode.EXECUTABLE_MODEL);
+        try {
+            List<Message> errors = kieBuilder.getResults().getMessages(Message.Level.ERROR);
+            if (!errors.isEmpty()) {
+                log.warn("Rules of {} ({}) do not compile to the executable model, no artifact stored: {}",
+                    factType, artifact.rulesHash(), errors.get(0).getText());
+                return null;
+            }
+            return uncompressed(((InternalKieModule) kieBuilder.getKieModule()).getBytes());
+        } finally {
+            // buildAll registers the module; the artifact is only needed on disk
+            kieServices.getRepository().removeKieModule(releaseId);
+        }
+    }
+
+    /**
+     * Rewrite the kjar with stored (uncompressed) entries. The KieRepository reads a kjar entry by
+     * entry through a ZipInputStream, and inflating thousands of small generated classes dominated
+     * the load time; the larger file is read in one go.
+     */
+    private static byte[] uncompressed(byte[] kjar) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(kjar.length * 3);
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(kjar));
+             ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.setMethod(ZipOutputStream.STORED);
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                byte[] content = in.readAllBytes();
+                CRC32 crc = new CRC32();
+                crc.update(content);
+                ZipEntry stored = new ZipEntry(entry.getName());
+                stored.setMethod(ZipEntry.STORED);
+                stored.setSize(content.length);
+                stored.setCompressedSize(content.length);
+                stored.setCrc(crc.getValue());
+                zip.putNextEntry(stored);
+                zip.write(content);
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private void pruneOldArtifacts(Path factTypeDirectory) throws IOException {
+        List<Path> artifacts;
+        try (Stream<Path> files = Files.list(factTypeDirectory)) {
+            artifacts = files
+                .filter(file -> file.getFileName().toString().endsWith(EXTENSION))
+                .sorted(Comparator.comparing(RuleArtifactStore::lastModified).reversed())
+                .toList();
+        }
+        for (Path stale : artifacts.subList(Math.min(maxArtifactsPerFactType, artifacts.size()), artifacts.size())) {
+            Files.deleteIfExists(stale);
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path pathFor(String factType, String rulesHash) {
+        return directory.resolve(factType.toLowerCase())
+            .resolve(rulesHash + "-" + modelFingerprint(factType) + "-drools-" + Drools.getFullVersion() + EXTENSION);
+    }
+
+    /**
+     * Short hash of what the rules compile against besides their own DRL: the DRL header of the
+     * fact type and the fields of every class it imports. The model only changes with the code,
+     * so it is computed once per fact type.
+     */
+    private String modelFingerprint(String factType) {
+        return modelFingerprints.computeIfAbsent(factType, RuleArtifactStore::computeModelFingerprint);
+    }
+
+    private static String computeModelFingerprint(String factType) {
+        FactType factTypeEnum;
+        try {
+            factTypeEnum = FactType.fromValue(factType);
+        } catch (IllegalArgumentException e) {
+            factTypeEnum = FactType.DECLARATION;
+        }
+        String header = DrlConstants.buildDrlHeader(factTypeEnum);
+        StringBuilder model = new StringBuilder(header);
+        header.lines()
+            .filter(line -> line.startsWith("import "))
+            .map(line -> line.substring("import ".length()).trim())
+            .forEach(className -> appendFields(model, className));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(model.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void appendFields(StringBuilder model, String className) {
+        try {
+            Class<?> type = Class.forName(className);
+            Arrays.stream(type.getDeclaredFields())
+                .map(field -> field.getName() + ":" + field.getGenericType().getTypeName())
+                .sorted()
+                .forEach(field -> model.append('\n').append(className).append('#').append(field));
+        } catch (ClassNotFoundException | LinkageError e) {
+            model.append('\n').append(className).append("#?");
+        }
+    }
+
+    /**
+     * Stop the background writer; a pending artifact is simply written on a later deploy.
+     */
+    void shutdown() {
+        writer.shutdownNow();
+    }
+}
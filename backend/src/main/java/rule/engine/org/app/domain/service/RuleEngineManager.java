@@ -1,34 +1,48 @@
 package rule.engine.org.app.domain.service;
 
 import jakarta.annotation.PostConstruct;
+import org.kie.api.KieBase;
 import org.kie.api.KieServices;
 import org.kie.api.builder.KieBuilder;
-import org.kie.api.builder.KieFileSystem;
 import org.kie.api.builder.KieModule;
 import org.kie.api.builder.Message;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.command.Command;
+import org.kie.api.command.KieCommands;
 import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSessionsPool;
 import org.kie.api.runtime.StatelessKieSession;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Service;
+import rule.engine.org.app.config.RuleEngineProperties;
+import rule.engine.org.app.config.RuleEngineProperties.Compile.BuildMode;
 import rule.engine.org.app.domain.entity.ui.DecisionRule;
 import rule.engine.org.app.domain.entity.ui.FactType;
 import rule.engine.org.app.domain.entity.ui.RuleStatus;
-import rule.engine.org.app.domain.entity.execution.declaration.Declaration;
-import rule.engine.org.app.domain.entity.execution.RuleOutputHit;
+import rule.engine.org.app.domain.fact.declaration.Declaration;
 import rule.engine.org.app.domain.entity.execution.TotalRuleResults;
 import rule.engine.org.app.domain.repository.DecisionRuleRepository;
 import rule.engine.org.app.domain.repository.KieContainerVersionRepository;
 import rule.engine.org.app.domain.entity.ui.KieContainerVersion;
 import rule.engine.org.app.domain.service.exception.RuleCompilationException;
 import rule.engine.org.app.util.DrlConstants;
+import rule.engine.org.app.util.EntityScannerService;
 
 import java.math.BigDecimal;
 import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
@@ -43,35 +57,209 @@ public class RuleEngineManager {
     private final DecisionRuleRepository decisionRuleRepository;
     private final KieContainerVersionRepository containerVersionRepository;
     private final rule.engine.org.app.domain.repository.RuleDeploymentSnapshotRepository snapshotRepository;
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
     
-    // Map to store containers by fact type
-    private final Map<String, ContainerInfo> containers = new ConcurrentHashMap<>();
+    // Serializes rebuilds/deploys of one fact type; fact types build independently.
+    // Executions never take these locks.
+    private final Map<String, ReentrantLock> rebuildLocks = new ConcurrentHashMap<>();
+    
+    // Immutable snapshot of containers by fact type, replaced wholesale on every swap
+    private final AtomicReference<Map<String, ContainerInfo>> containers = new AtomicReference<>(Map.of());
     
     /**
-     * Container information for a specific fact type
+     * Container information for a specific fact type.
+     * Immutable once published; executions lease it so that a swapped-out container
+     * is only disposed after the sessions still running against it have finished.
      */
-    private static class ContainerInfo {
+    static final class ContainerInfo {
+        final String factType;
         final KieContainer container;
         final KieModule kieModule;
-        volatile long version;
-        volatile String lastRulesHash;
+        final ReleaseId releaseId;
+        final long version;
+        final String lastRulesHash;
+        final int ruleCount;
+        final BuildMode buildMode;
+        private final KieContainerBuildResult build;
+        // Rule ID / Drools rule name lookup for hit attribution
+        final RuleIndex ruleIndex;
+        // Cached per container: the KieBase and one thread-safe stateless session backed by
+        // a pool of reusable sessions. Per-call state (the totalResults global) is passed as commands.
+        final KieBase kieBase;
+        final StatelessKieSession session;
+        private final KieSessionsPool sessionsPool;
+        // Execution latency, hits and per-rule fire counters of this container
+        final RuleEngineMetrics.ContainerMeters meters;
+        // How far executions fire the agenda
+        final ExecutionPolicy policy;
+        // Agenda group of each fact's partition
+        final RulePartitions partitions;
         
-        ContainerInfo(KieContainer container, KieModule kieModule, long version, String lastRulesHash) {
-            this.container = container;
-            this.kieModule = kieModule;
+        private final AtomicInteger leases = new AtomicInteger();
+        private final AtomicBoolean disposed = new AtomicBoolean();
+        private volatile boolean retired;
+        
+        ContainerInfo(String factType, KieContainerBuildResult build, long version, String lastRulesHash,
+                      List<DecisionRule> rules, int sessionPoolSize, RuleEngineMetrics metrics, ExecutionPolicy policy,
+                      String partitionField) {
+            this.factType = factType;
+            this.container = build.container;
+            this.kieModule = build.kieModule;
+            this.releaseId = build.releaseId;
+            this.buildMode = build.buildMode;
+            this.build = build;
             this.version = version;
             this.lastRulesHash = lastRulesHash;
+            this.ruleCount = rules.size();
+            this.ruleIndex = RuleIndex.of(rules);
+            this.partitions = RulePartitions.of(partitionField, rules);
+            this.kieBase = container.getKieBase();
+            this.sessionsPool = kieBase.newKieSessionsPool(sessionPoolSize);
+            this.session = sessionsPool.newStatelessKieSession();
+            if (ruleIndex.requiresListener()) {
+                // Legacy rules do not set ruleId on their hits; stamp it from the firing rule
+                session.addEventListener(new RuleIndex.HitAttributionListener(ruleIndex));
+            }
+            this.meters = metrics.forContainer(factType, version, buildMode, ruleIndex);
+            session.addEventListener(meters.ruleFireListener);
+            this.policy = policy;
+            if (policy.stopsEarly()) {
+                // Registered last so the hits are attributed and counted before the session halts
+                session.addEventListener(new ExecutionPolicy.HaltListener(policy));
+            }
+        }
+        
+        /**
+         * Take a lease for one execution.
+         * @return false if the container has been retired and the caller must re-read the snapshot
+         */
+        boolean acquire() {
+            leases.incrementAndGet();
+            if (retired) {
+                release();
+                return false;
+            }
+            return true;
+        }
+        
+        void release() {
+            if (leases.decrementAndGet() == 0 && retired) {
+                disposeOnce();
+            }
+        }
+        
+        /**
+         * Mark as no longer published. Disposal happens now if idle, otherwise when the last lease is released.
+         */
+        void retire() {
+            retired = true;
+            if (leases.get() == 0) {
+                disposeOnce();
+            }
+        }
+        
+        private void disposeOnce() {
+            if (container != null && disposed.compareAndSet(false, true)) {
+                try {
+                    sessionsPool.shutdown();
+                    build.dispose();
+                    meters.close();
+                } catch (Exception e) {
+                    log.warn("Error disposing container {}: {}", releaseId, e.getMessage());
+                }
+            }
         }
     }
     
+    // Incremental build state of the live rules per fact type; an entry is only touched under its fact type's rebuild lock
+    private final Map<String, RuleWorkspace> workspaces = new ConcurrentHashMap<>();
+    
+    // Compiled containers for historical-version executions
+    private final VersionContainerCache versionCache;
+    
+    // Every KieModule added to the KieRepository, removed again when its container is disposed
+    private final KieModuleRegistry moduleRegistry;
+    
+    // Persisted executable-model kjars, loaded at startup instead of recompiling (null when disabled)
+    private final RuleArtifactStore artifactStore;
+    
+    // Smallest number of facts handed to one batch worker task
+    private static final int MIN_BATCH_CHUNK = 64;
+    
+    // Bounded pool for batch executions, one worker per core
+    private final int batchParallelism = Runtime.getRuntime().availableProcessors();
+    private final ExecutorService batchExecutor = Executors.newFixedThreadPool(batchParallelism, runnable -> {
+        Thread thread = new Thread(runnable, "rule-batch-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // Bounded pool compiling independent fact types in parallel (startup, refresh all, deploy all)
+    private final ExecutorService compileExecutor;
+    
+    // Build mode per fact type, and for fact types without one
+    private final BuildMode defaultBuildMode;
+    private final Map<String, BuildMode> buildModes;
+    
+    // Replays recent facts through new containers before they are published
+    private final RuleWarmup warmup;
+    
+    // Sessions created up front in each container's session pool (the pool grows on demand)
+    private final int sessionPoolSize;
+    
+    // Execution policy per fact type; fact types without one fire every matching rule
+    private final Map<String, ExecutionPolicy> executionPolicies;
+    
+    // Partition field per fact type; rules of other fact types are all shared
+    private final Map<String, String> partitionFields;
+    
+    private final RuleEngineMetrics metrics;
+    
     public RuleEngineManager(
             DecisionRuleRepository decisionRuleRepository,
             KieContainerVersionRepository containerVersionRepository,
-            rule.engine.org.app.domain.repository.RuleDeploymentSnapshotRepository snapshotRepository) {
+            rule.engine.org.app.domain.repository.RuleDeploymentSnapshotRepository snapshotRepository,
+            RuleEngineProperties properties,
+            RuleEngineMetrics metrics,
+            EntityScannerService entityScannerService) {
         this.decisionRuleRepository = decisionRuleRepository;
         this.containerVersionRepository = containerVersionRepository;
         this.snapshotRepository = snapshotRepository;
+        this.versionCache = new VersionContainerCache(
+            properties.getVersionCache().getMaxEntries(),
+            properties.getVersionCache().getMaxWeight());
+        this.moduleRegistry = new KieModuleRegistry(
+            properties.getModuleRetention().getMaxVersionsPerFactType(),
+            properties.getModuleRetention().getTemporaryTtl());
+        this.artifactStore = properties.getArtifacts().isEnabled()
+            ? new RuleArtifactStore(java.nio.file.Path.of(properties.getArtifacts().getDirectory()),
+                properties.getArtifacts().getMaxPerFactType())
+            : null;
+        this.compileExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getCompile().getParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "rule-compile-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.defaultBuildMode = properties.getCompile().getBuildMode();
+        this.buildModes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        this.buildModes.putAll(properties.getCompile().getBuildModes());
+        this.warmup = new RuleWarmup(properties.getWarmup(), entityScannerService);
+        this.sessionPoolSize = Math.max(1, properties.getSessionPool().getInitialSize());
+        this.executionPolicies = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        properties.getExecution().getPolicies().forEach((factType, policy) ->
+            this.executionPolicies.put(factType, ExecutionPolicy.of(factType, policy)));
+        this.partitionFields = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        properties.getPartitioning().getFields().forEach((factType, field) -> {
+            if (field == null || field.isBlank()) {
+                return;
+            }
+            Class<?> factClass = entityScannerService.getFactClass(FactType.fromValue(factType));
+            if (factClass != null && !RulePartitions.hasField(factClass, field)) {
+                throw new IllegalArgumentException("Partition field " + field + " not found on " + factClass.getName());
+            }
+            this.partitionFields.put(factType, field);
+        });
+        this.metrics = metrics;
+        metrics.bindModuleRegistry(moduleRegistry);
     }
     
     /**
@@ -80,55 +268,111 @@ public class RuleEngineManager {
      */
     @PostConstruct
     private void initializeContainers() {
-        lock.writeLock().lock();
-        try {
-            // Get all distinct fact types
-            List<FactType> factTypes = decisionRuleRepository.findDistinctFactTypes();
-            if (factTypes.isEmpty()) {
-                // Default to "Declaration" if no fact types found
-                factTypes = Collections.singletonList(FactType.DECLARATION);
-            }
-            
-            // Build container for each fact type
-            for (FactType factType : factTypes) {
-                try {
-                    rebuildRulesForFactType(factType.getValue(), false);
-                } catch (Exception e) {
-                    log.error("Failed to initialize container for fact type {}: {}. Application will continue but this fact type will not be available until the rule errors are fixed.", 
-                        factType.getValue(), e.getMessage(), e);
+        long start = System.nanoTime();
+        List<String> factTypes = resolveFactTypes(List.of());
+        
+        // Build container for each fact type in parallel, from its persisted artifact when the rules are unchanged
+        forEachFactType(factTypes, factType -> {
+            ReentrantLock lock = rebuildLockFor(factType);
+            lock.lock();
+            try {
+                if (!restoreFromArtifact(factType)) {
+                    rebuildRulesForFactType(factType, false);
                 }
+            } catch (Exception e) {
+                log.error("Failed to initialize container for fact type {}: {}. Application will continue but this fact type will not be available until the rule errors are fixed.", 
+                    factType, e.getMessage(), e);
+            } finally {
+                lock.unlock();
             }
-        } finally {
-            lock.writeLock().unlock();
+        });
+        log.info("Initialized containers for {} fact types in {} ms", factTypes.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    /**
+     * Publish the live container of a fact type from the persisted artifact of its current rules,
+     * without compiling. The fact type's workspace is created by the next deploy.
+     * Called with the fact type's rebuild lock held.
+     * @return false if there is no usable artifact and the rules must be compiled
+     */
+    private boolean restoreFromArtifact(String factType) {
+        if (artifactStore == null) {
+            return false;
+        }
+        FactType factTypeEnum = FactType.fromValue(factType);
+        List<DecisionRule> rules = decisionRuleRepository
+            .findByFactTypeAndIsLatestTrueAndStatusOrderByPriorityAsc(factTypeEnum, RuleStatus.ACTIVE);
+        String rulesHash = calculateRulesHash(rules, partitionFieldFor(factType));
+        
+        long currentVersion = 0;
+        String lastHash = null;
+        Optional<KieContainerVersion> latestVersion = containerVersionRepository.findLatestVersionByFactType(factType);
+        if (latestVersion.isPresent()) {
+            currentVersion = latestVersion.get().getVersion();
+            lastHash = latestVersion.get().getRulesHash();
+        }
+        
+        long start = System.nanoTime();
+        KieContainerBuildResult buildResult = loadArtifact(factType, rulesHash, currentVersion, rules.size());
+        if (buildResult == null) {
+            return false;
+        }
+        ContainerInfo info;
+        try {
+            info = new ContainerInfo(factType, buildResult, currentVersion, lastHash, rules, sessionPoolSize, metrics,
+                policyFor(factType), partitionFieldFor(factType));
+        } catch (RuntimeException e) {
+            log.warn("Artifact of {} ({}) does not load into a KieBase, compiling instead: {}", factType, rulesHash, e.getMessage());
+            buildResult.dispose();
+            artifactStore.delete(factType, rulesHash);
+            return false;
+        }
+        metrics.recordCompile(factType, "artifact", BuildMode.EXECUTABLE_MODEL, System.nanoTime() - start, true);
+        warmUp(info);
+        
+        ContainerInfo oldInfo = publish(factType, info);
+        versionCache.pin(factType, currentVersion);
+        moduleRegistry.pin(factType, currentVersion);
+        if (oldInfo != null) {
+            oldInfo.retire();
         }
+        log.info("Restored {} v{} with {} rules from artifact (Hash: {}...) in {} ms",
+            factType, currentVersion, rules.size(), rulesHash.substring(0, 8), (System.nanoTime() - start) / 1_000_000);
+        return true;
     }
     
     /**
-     * Rebuild rules for all fact types without incrementing version (for refresh)
+     * Container over the persisted artifact of a rule set, or null if there is none.
      */
-    public void rebuildRules() {
-        lock.writeLock().lock();
+    private KieContainerBuildResult loadArtifact(String factType, String rulesHash, long version, int ruleCount) {
+        if (artifactStore == null || rulesHash == null) {
+            return null;
+        }
+        KieModule kieModule = artifactStore.load(factType, rulesHash);
+        if (kieModule == null) {
+            return null;
+        }
+        ReleaseId moduleReleaseId = kieModule.getReleaseId();
+        moduleRegistry.register(kieModule, KieModuleRegistry.Kind.ARTIFACT, factType, version, ruleCount);
         try {
-            List<String> factTypes = new ArrayList<>(containers.keySet());
-            if (factTypes.isEmpty()) {
-                List<FactType> factTypeEnums = decisionRuleRepository.findDistinctFactTypes();
-                if (factTypeEnums.isEmpty()) {
-                    factTypes = Collections.singletonList(FactType.DECLARATION.getValue());
-                } else {
-                    factTypes = factTypeEnums.stream()
-                        .map(FactType::getValue)
-                        .collect(Collectors.toList());
-                }
-            }
-            
-            for (String factType : factTypes) {
-                rebuildRulesForFactType(factType, false);
-            }
-        } finally {
-            lock.writeLock().unlock();
+            KieContainer container = KieServices.Factory.get().newKieContainer(moduleReleaseId);
+            return new KieContainerBuildResult(container, kieModule, releaseIdFor(factType, version),
+                BuildMode.EXECUTABLE_MODEL, () -> moduleRegistry.release(moduleReleaseId));
+        } catch (RuntimeException e) {
+            log.warn("Could not create a container from the artifact of {} ({}): {}", factType, rulesHash, e.getMessage());
+            moduleRegistry.release(moduleReleaseId);
+            artifactStore.delete(factType, rulesHash);
+            return null;
         }
     }
     
+    /**
+     * Rebuild rules for all fact types without incrementing version (for refresh)
+     */
+    public void rebuildRules() {
+        forEachFactType(resolveFactTypes(containers.get().keySet()), factType -> rebuildRulesForFactType(factType, false));
+    }
+    
     /**
      * Rebuild rules for a specific fact type without incrementing version (for refresh)
      */
@@ -140,26 +384,7 @@ public class RuleEngineManager {
      * Deploy rules for all fact types with version increment (for deploy)
      */
     public void deployRules() {
-        lock.writeLock().lock();
-        try {
-            List<String> factTypes = new ArrayList<>(containers.keySet());
-            if (factTypes.isEmpty()) {
-                List<FactType> factTypeEnums = decisionRuleRepository.findDistinctFactTypes();
-                if (factTypeEnums.isEmpty()) {
-                    factTypes = Collections.singletonList(FactType.DECLARATION.getValue());
-                } else {
-                    factTypes = factTypeEnums.stream()
-                        .map(FactType::getValue)
-                        .collect(Collectors.toList());
-                }
-            }
-            
-            for (String factType : factTypes) {
-                rebuildRulesForFactType(factType, true);
-            }
-        } finally {
-            lock.writeLock().unlock();
-        }
+        forEachFactType(resolveFactTypes(containers.get().keySet()), factType -> rebuildRulesForFactType(factType, true));
     }
     
     /**
@@ -169,11 +394,66 @@ public class RuleEngineManager {
         rebuildRulesForFactType(factType, true);
     }
     
+    /**
+     * Fact types to rebuild: the given ones (the live containers), otherwise those that have rules,
+     * otherwise Declaration.
+     */
+    private List<String> resolveFactTypes(Collection<String> liveFactTypes) {
+        if (!liveFactTypes.isEmpty()) {
+            return new ArrayList<>(liveFactTypes);
+        }
+        List<FactType> factTypeEnums = decisionRuleRepository.findDistinctFactTypes();
+        if (factTypeEnums.isEmpty()) {
+            return Collections.singletonList(FactType.DECLARATION.getValue());
+        }
+        return factTypeEnums.stream()
+            .map(FactType::getValue)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * Run an action for every fact type on the compile executor and wait for all of them.
+     * Fact types share no build state, so the wall-clock time is that of the slowest one.
+     * A failing fact type does not stop the others; the first failure is rethrown once all
+     * have finished, with the remaining failures attached as suppressed exceptions.
+     */
+    private void forEachFactType(List<String> factTypes, Consumer<String> action) {
+        if (factTypes.size() == 1) {
+            action.accept(factTypes.get(0));
+            return;
+        }
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(factTypes.size());
+        for (String factType : factTypes) {
+            tasks.add(CompletableFuture.runAsync(() -> action.accept(factType), compileExecutor));
+        }
+        RuntimeException failure = null;
+        for (CompletableFuture<Void> task : tasks) {
+            try {
+                task.join();
+            } catch (CompletionException | CancellationException e) {
+                RuntimeException cause = e.getCause() instanceof RuntimeException runtime ? runtime : e;
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+    
+    private ReentrantLock rebuildLockFor(String factType) {
+        return rebuildLocks.computeIfAbsent(factType, key -> new ReentrantLock());
+    }
+    
     /**
      * Internal method to rebuild rules for a specific fact type with optional version increment
      */
     private void rebuildRulesForFactType(String factType, boolean incrementVersion) {
-        lock.writeLock().lock();
+        ReentrantLock rebuildLock = rebuildLockFor(factType);
+        rebuildLock.lock();
         try {
             // Load latest active rules for this fact type
             FactType factTypeEnum = FactType.fromValue(factType);
@@ -181,10 +461,10 @@ public class RuleEngineManager {
                 .findByFactTypeAndIsLatestTrueAndStatusOrderByPriorityAsc(factTypeEnum, RuleStatus.ACTIVE);
             
             // Calculate hash of current rules to detect changes
-            String currentRulesHash = calculateRulesHash(rules);
+            String currentRulesHash = calculateRulesHash(rules, partitionFieldFor(factType));
             
             // Get or create container info
-            ContainerInfo containerInfo = containers.get(factType);
+            ContainerInfo containerInfo = containers.get().get(factType);
             long currentVersion = 0;
             String lastHash = null;
             
@@ -218,7 +498,7 @@ public class RuleEngineManager {
             
             KieContainerBuildResult buildResult;
             try {
-                buildResult = buildKieContainer(rules, factType, currentVersion);
+                buildResult = buildLiveContainer(rules, factType, currentVersion);
             } catch (RuntimeException e) {
                 // Log detailed error information
                 log.error("Failed to build KieContainer for fact type '{}': {}", factType, e.getMessage());
@@ -232,19 +512,40 @@ public class RuleEngineManager {
                 throw e;
             }
             
-            // Atomic swap
-            ContainerInfo oldInfo = containers.get(factType);
+            // Atomic swap: the container was fully built above, executions pick it up on their next read
             ContainerInfo newInfo = new ContainerInfo(
-                buildResult.container,
-                buildResult.kieModule,
+                factType,
+                buildResult,
                 currentVersion,
-                lastHash
+                lastHash,
+                rules,
+                sessionPoolSize,
+                metrics,
+                policyFor(factType),
+                partitionFieldFor(factType)
             );
-            containers.put(factType, newInfo);
+            // Pay for lazy node initialization and JIT compilation before real requests reach the container
+            warmUp(newInfo);
+            long swapStart = System.nanoTime();
+            ContainerInfo oldInfo = publish(factType, newInfo);
+            // Keep the live version's historical entry resident in the version cache
+            versionCache.pin(factType, currentVersion);
+            moduleRegistry.pin(factType, currentVersion);
             
-            // Cleanup old container
-            if (oldInfo != null && oldInfo.container != null) {
-                oldInfo.container.dispose();
+            // Cleanup old container once in-flight executions have drained
+            if (oldInfo != null) {
+                oldInfo.retire();
+            }
+            metrics.recordSwap(factType, System.nanoTime() - swapStart);
+            
+            // Persist the compiled rules so the next startup can skip this compile
+            if (artifactStore != null) {
+                RuleWorkspace workspace = workspaces.get(factType);
+                if (workspace.getBuildMode() == BuildMode.EXECUTABLE_MODEL) {
+                    artifactStore.storeAsync(factType, currentRulesHash, workspace.getKieModule(), rules.size());
+                } else {
+                    artifactStore.storeAsync(factType, currentRulesHash, workspace.snapshotSources());
+                }
             }
             
             // Only save version to database if deploying
@@ -255,7 +556,7 @@ public class RuleEngineManager {
                 versionEntity.setVersion(currentVersion);
                 versionEntity.setRulesCount(rules.size());
                 versionEntity.setRulesHash(currentRulesHash);
-                versionEntity.setReleaseId(buildResult.kieModule.getReleaseId().toString());
+                versionEntity.setReleaseId(buildResult.releaseId.toString());
                 versionEntity.setRuleIds(ruleIds);
                 
                 // Generate changes description
@@ -282,39 +583,108 @@ public class RuleEngineManager {
                         .sum() : 0;
                     
                     // Log deploy with version and release ID
-                    System.out.println("[RULE ENGINE] ✓ Deployed " + factType + " v" + currentVersion + " with " + rules.size() + " rules");
-                    System.out.println("[RULE ENGINE]   ReleaseId: " + buildResult.kieModule.getReleaseId());
-                    System.out.println("[RULE ENGINE]   Hash: " + currentRulesHash.substring(0, 8) + "...");
-                    System.out.println("[RULE ENGINE]   ✓ Container verified: " + ruleCount + " rules loaded in KieBase");
-                    System.out.println("[RULE ENGINE]   ✓ Session creation test: PASSED");
+                    log.info("✓ Deployed {} v{} with {} rules (ReleaseId: {}, Hash: {}..., {} rules loaded in KieBase, session test passed)",
+                        factType, currentVersion, rules.size(), buildResult.releaseId,
+                        currentRulesHash.substring(0, 8), ruleCount);
                 } catch (Exception e) {
-                    System.err.println("[RULE ENGINE] ✗ WARNING: Container deployed but verification failed: " + e.getMessage());
-                    e.printStackTrace();
+                    log.warn("✗ Container {} v{} deployed but verification failed: {}", factType, currentVersion, e.getMessage(), e);
                 }
             } else {
                 // Log refresh without version increment
-                System.out.println("[RULE ENGINE] Refreshed " + factType + " with " + rules.size() + " rules (ReleaseId: " + buildResult.kieModule.getReleaseId() + ", Hash: " + currentRulesHash.substring(0, 8) + "...)");
+                log.info("Refreshed {} with {} rules (ReleaseId: {}, Hash: {}...)",
+                    factType, rules.size(), buildResult.releaseId, currentRulesHash.substring(0, 8));
             }
         } finally {
-            lock.writeLock().unlock();
+            rebuildLock.unlock();
+        }
+    }
+    
+    /**
+     * Replay sample facts through a container that is not published yet. Results are discarded
+     * and do not count in the container's execution meters or rule fire counters.
+     */
+    private void warmUp(ContainerInfo info) {
+        info.meters.pauseRuleFires();
+        try {
+            RuleWarmup.Result result = warmup.warmUp(info.factType, fact -> {
+                TotalRuleResults results = new TotalRuleResults();
+                runSession(info.session, results, fact, info.partitions.agendaGroupOf(fact));
+                info.ruleIndex.attribute(results.getHits());
+                aggregateResults(results);
+            });
+            if (result == null) {
+                return;
+            }
+            metrics.recordWarmup(info.factType, result.nanos(), result.executions(), result.stable());
+            log.info("Warmed up {} v{} with {} executions in {} rounds ({} ms, {} us per fact, {})",
+                info.factType, info.version, result.executions(), result.rounds(), result.nanos() / 1_000_000,
+                result.lastRoundNanosPerFact() / 1_000, result.stable() ? "stable" : "budget spent");
+        } finally {
+            info.meters.resumeRuleFires();
+        }
+    }
+    
+    /**
+     * Publish a new container for a fact type with a single atomic swap of the snapshot map.
+     * @return the container that was replaced, or null
+     */
+    private ContainerInfo publish(String factType, ContainerInfo newInfo) {
+        Map<String, ContainerInfo> current;
+        Map<String, ContainerInfo> next;
+        do {
+            current = containers.get();
+            Map<String, ContainerInfo> copy = new HashMap<>(current);
+            copy.put(factType, newInfo);
+            next = Map.copyOf(copy);
+        } while (!containers.compareAndSet(current, next));
+        return current.get(factType);
+    }
+    
+    /**
+     * Lease the currently published container for a fact type without locking.
+     * Caller must {@link ContainerInfo#release()} the returned container.
+     * @return leased container, or null if none is published
+     */
+    private ContainerInfo acquireContainer(String factType) {
+        while (true) {
+            ContainerInfo info = containers.get().get(factType);
+            if (info == null || info.container == null) {
+                return null;
+            }
+            if (info.acquire()) {
+                return info;
+            }
+            // Retired between the read and the lease; the replacement is already published
         }
     }
     
     /**
      * Calculate hash of rules to detect changes
-     * Hash is based on rule IDs, ruleContent, priority, and status
+     * Hash is based on rule IDs, ruleContent, priority, and status, plus the fact type's partition
+     * field when a rule has a partition key, as it decides whether those rules compile into agenda groups
      */
-    private String calculateRulesHash(List<DecisionRule> rules) {
+    private String calculateRulesHash(List<DecisionRule> rules, String partitionField) {
         try {
             MessageDigest md = MessageDigest.getInstance("MD5");
             
             // Build hash input from rule properties
             StringBuilder hashInput = new StringBuilder();
+            boolean partitioned = false;
             for (DecisionRule rule : rules) {
                 hashInput.append(rule.getId()).append(":");
                 hashInput.append(rule.getRuleContent() != null ? rule.getRuleContent() : "").append(":");
                 hashInput.append(rule.getPriority()).append(":");
-                hashInput.append(rule.getStatus()).append("|");
+                hashInput.append(rule.getStatus());
+                // Appended only when set, so hashes of unpartitioned rule sets do not change
+                String partitionKey = RulePartitions.partitionKeyOf(rule);
+                if (partitionKey != null) {
+                    hashInput.append(":partition=").append(partitionKey);
+                    partitioned = true;
+                }
+                hashInput.append("|");
+            }
+            if (partitioned) {
+                hashInput.append("partitionField=").append(partitionField != null ? partitionField : "");
             }
             
             // Calculate MD5 hash
@@ -498,13 +868,8 @@ public class RuleEngineManager {
      * @return Current container version, or 0 if not found
      */
     public long getContainerVersion(String factType) {
-        lock.readLock().lock();
-        try {
-            ContainerInfo info = containers.get(factType);
-            return info != null ? info.version : 0;
-        } finally {
-            lock.readLock().unlock();
-        }
+        ContainerInfo info = containers.get().get(factType);
+        return info != null ? info.version : 0;
     }
     
     /**
@@ -523,16 +888,11 @@ public class RuleEngineManager {
      * @return ReleaseId string, or null if container not built yet
      */
     public String getContainerReleaseId(String factType) {
-        lock.readLock().lock();
-        try {
-            ContainerInfo info = containers.get(factType);
-            if (info == null || info.kieModule == null) {
-                return null;
-            }
-            return info.kieModule.getReleaseId().toString();
-        } finally {
-            lock.readLock().unlock();
+        ContainerInfo info = containers.get().get(factType);
+        if (info == null || info.releaseId == null) {
+            return null;
         }
+        return info.releaseId.toString();
     }
     
     /**
@@ -549,12 +909,7 @@ public class RuleEngineManager {
      * Get all fact types that have containers
      */
     public Set<String> getFactTypes() {
-        lock.readLock().lock();
-        try {
-            return new HashSet<>(containers.keySet());
-        } finally {
-            lock.readLock().unlock();
-        }
+        return new HashSet<>(containers.get().keySet());
     }
     
     /**
@@ -574,37 +929,36 @@ public class RuleEngineManager {
      * @return Map containing container status information
      */
     public Map<String, Object> getContainerStatus(String factType) {
-        lock.readLock().lock();
+        Map<String, Object> status = new HashMap<>();
+        ContainerInfo info = acquireContainer(factType);
+        
+        if (info == null) {
+            status.put("exists", false);
+            status.put("valid", false);
+            status.put("message", "Container not found for fact type: " + factType);
+            return status;
+        }
+        
         try {
-            Map<String, Object> status = new HashMap<>();
-            ContainerInfo info = containers.get(factType);
-            
-            if (info == null) {
-                status.put("exists", false);
-                status.put("valid", false);
-                status.put("message", "Container not found for fact type: " + factType);
-                return status;
-            }
-            
             status.put("exists", true);
             status.put("version", info.version);
-            status.put("releaseId", info.kieModule != null ? info.kieModule.getReleaseId().toString() : null);
+            status.put("releaseId", info.releaseId != null ? info.releaseId.toString() : null);
             status.put("rulesHash", info.lastRulesHash);
+            status.put("buildMode", info.buildMode);
+            status.put("executionPolicy", info.policy.toString());
+            status.put("partitionField", info.partitions.field());
+            status.put("partitions", info.partitions.partitionCount());
             
             // Verify container can create session
             boolean valid = false;
             String errorMessage = null;
             try {
-                if (info.container != null) {
-                    StatelessKieSession testSession = info.container.newStatelessKieSession();
-                    if (testSession != null) {
-                        valid = true;
-                        status.put("message", "Container is valid and can create sessions");
-                    } else {
-                        errorMessage = "Container exists but cannot create session";
-                    }
+                StatelessKieSession testSession = info.session;
+                if (testSession != null) {
+                    valid = true;
+                    status.put("message", "Container is valid and can create sessions");
                 } else {
-                    errorMessage = "Container is null";
+                    errorMessage = "Container exists but cannot create session";
                 }
             } catch (Exception e) {
                 errorMessage = "Error creating session: " + e.getMessage();
@@ -617,7 +971,7 @@ public class RuleEngineManager {
             
             return status;
         } finally {
-            lock.readLock().unlock();
+            info.release();
         }
     }
     
@@ -626,16 +980,11 @@ public class RuleEngineManager {
      * @return Map of fact type -> container status
      */
     public Map<String, Map<String, Object>> getAllContainersStatus() {
-        lock.readLock().lock();
-        try {
-            Map<String, Map<String, Object>> allStatus = new HashMap<>();
-            for (String factType : containers.keySet()) {
-                allStatus.put(factType, getContainerStatus(factType));
-            }
-            return allStatus;
-        } finally {
-            lock.readLock().unlock();
+        Map<String, Map<String, Object>> allStatus = new HashMap<>();
+        for (String factType : containers.get().keySet()) {
+            allStatus.put(factType, getContainerStatus(factType));
         }
+        return allStatus;
     }
     
     /**
@@ -658,7 +1007,7 @@ public class RuleEngineManager {
         long nextVersion = Math.max(1, getContainerVersion(factType) + 1);
         KieContainerBuildResult buildResult = null;
         try {
-            buildResult = buildKieContainer(rules, factType, nextVersion);
+            buildResult = buildKieContainer(rules, factType, nextVersion, KieModuleRegistry.Kind.TEMPORARY);
             StatelessKieSession session = buildResult.container.newStatelessKieSession();
             if (session != null) {
                 session.execute(java.util.Collections.emptyList());
@@ -666,8 +1015,8 @@ public class RuleEngineManager {
             result.put("success", true);
             result.put("message", "Rules compiled successfully");
             result.put("ruleCount", rules.size());
-            result.put("releaseId", buildResult.kieModule.getReleaseId().toString());
-            // Store container reference - caller must dispose it after use
+            result.put("releaseId", buildResult.releaseId.toString());
+            // Store container reference - caller must dispose it after use (disposeTemporaryContainer)
             result.put("container", buildResult.container);
             result.put("kieModule", buildResult.kieModule);
             // Store buildResult to ensure container is not garbage collected
@@ -681,9 +1030,9 @@ public class RuleEngineManager {
             result.put("errorDetails", e.getErrorDetails());
             result.put("drlPreview", e.getDrlPreview());
             result.put("errorType", e.getClass().getSimpleName());
-            if (buildResult != null && buildResult.container != null) {
+            if (buildResult != null) {
                 try {
-                    buildResult.container.dispose();
+                    buildResult.dispose();
                 } catch (Exception disposeEx) {
                     log.warn("Error disposing container after build failure: {}", disposeEx.getMessage());
                 }
@@ -696,9 +1045,9 @@ public class RuleEngineManager {
             result.put("error", e.getMessage());
             result.put("errorType", e.getClass().getName());
             // Cleanup on error
-            if (buildResult != null && buildResult.container != null) {
+            if (buildResult != null) {
                 try {
-                    buildResult.container.dispose();
+                    buildResult.dispose();
                 } catch (Exception disposeEx) {
                     log.warn("Error disposing container after build failure: {}", disposeEx.getMessage());
                 }
@@ -708,6 +1057,31 @@ public class RuleEngineManager {
         return result;
     }
     
+    /**
+     * Dispose the temporary container of a {@link #validateRulesBuild} result and remove its
+     * KieModule from the KieRepository. Safe to call for failed validations and more than once.
+     *
+     * @param validationResult Result map returned by validateRulesBuild
+     */
+    public void disposeTemporaryContainer(Map<String, Object> validationResult) {
+        if (validationResult != null && validationResult.remove("_buildResult") instanceof KieContainerBuildResult buildResult) {
+            validationResult.remove("container");
+            validationResult.remove("kieModule");
+            try {
+                buildResult.dispose();
+            } catch (Exception e) {
+                log.warn("Error disposing temporary container {}: {}", buildResult.releaseId, e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Get retained KieModule counts and estimated retained bytes by kind
+     */
+    public Map<String, Object> getModuleRetentionStats() {
+        return moduleRegistry.getStats();
+    }
+    
     /**
      * Execute rules with sample data using a temporary container
      * Used for validation testing in change requests
@@ -754,11 +1128,10 @@ public class RuleEngineManager {
             results.setRunAt(LocalDateTime.now());
             
             StatelessKieSession session = container.newStatelessKieSession();
-            log.info("🔧 Created StatelessKieSession, setting global 'totalResults'");
-            session.setGlobal("totalResults", results);
+            log.info("🔧 Created StatelessKieSession, binding global 'totalResults'");
             
             log.info("⚡ Executing session with fact object...");
-            session.execute(fact);
+            runSession(session, results, fact, RulePartitions.open(partitionFieldFor(factType)).agendaGroupOf(fact));
             log.info("✅ Session execution completed");
             
             aggregateResults(results);
@@ -784,67 +1157,85 @@ public class RuleEngineManager {
      * @return Map containing verification result
      */
     public Map<String, Object> verifyContainer(String factType) {
-        lock.readLock().lock();
+        Map<String, Object> result = new HashMap<>();
+        ContainerInfo info = acquireContainer(factType);
+        
+        if (info == null) {
+            result.put("success", false);
+            result.put("message", "Container not found for fact type: " + factType);
+            return result;
+        }
+        
         try {
-            Map<String, Object> result = new HashMap<>();
-            ContainerInfo info = containers.get(factType);
-            
-            if (info == null || info.container == null) {
+            // The container's shared session must exist
+            StatelessKieSession session = info.session;
+            if (session == null) {
                 result.put("success", false);
-                result.put("message", "Container not found for fact type: " + factType);
+                result.put("message", "Cannot create session from container");
                 return result;
             }
             
-            try {
-                // Try to create a session
-                StatelessKieSession session = info.container.newStatelessKieSession();
-                if (session == null) {
-                    result.put("success", false);
-                    result.put("message", "Cannot create session from container");
-                    return result;
-                }
-                
-                // Try to get KieBase info
-                org.kie.api.KieBase kieBase = info.container.getKieBase();
-                if (kieBase == null) {
-                    result.put("success", false);
-                    result.put("message", "KieBase is null");
-                    return result;
-                }
-                
-                // Get number of rules in KieBase
-                int ruleCount = kieBase.getKiePackages().stream()
-                    .mapToInt(pkg -> pkg.getRules().size())
-                    .sum();
-                
-                result.put("success", true);
-                result.put("message", "Container is valid and ready to use");
-                result.put("ruleCount", ruleCount);
-                result.put("version", info.version);
-                result.put("releaseId", info.kieModule != null ? info.kieModule.getReleaseId().toString() : null);
-                
-            } catch (Exception e) {
+            // Try to get KieBase info
+            KieBase kieBase = info.kieBase;
+            if (kieBase == null) {
                 result.put("success", false);
-                result.put("message", "Error verifying container: " + e.getMessage());
-                result.put("error", e.getClass().getName());
+                result.put("message", "KieBase is null");
+                return result;
             }
             
-            return result;
+            // Get number of rules in KieBase
+            int ruleCount = kieBase.getKiePackages().stream()
+                .mapToInt(pkg -> pkg.getRules().size())
+                .sum();
+            
+            result.put("success", true);
+            result.put("message", "Container is valid and ready to use");
+            result.put("ruleCount", ruleCount);
+            result.put("version", info.version);
+            result.put("releaseId", info.releaseId != null ? info.releaseId.toString() : null);
+            
+        } catch (Exception e) {
+            result.put("success", false);
+            result.put("message", "Error verifying container: " + e.getMessage());
+            result.put("error", e.getClass().getName());
         } finally {
-            lock.readLock().unlock();
+            info.release();
         }
+        
+        return result;
     }
     
     /**
      * Result of building KieContainer
      */
-    private static class KieContainerBuildResult {
+    static class KieContainerBuildResult {
         final KieContainer container;
         final KieModule kieModule;
+        // Release ID of the built version; the KieModule is registered under its own release ID
+        final ReleaseId releaseId;
+        // Build mode the rules were actually compiled in
+        final BuildMode buildMode;
+        // Removes a one-off build's module from the KieRepository; no-op for workspace containers
+        private final Runnable releaseModule;
         
-        KieContainerBuildResult(KieContainer container, KieModule kieModule) {
+        KieContainerBuildResult(KieContainer container, KieModule kieModule, ReleaseId releaseId, BuildMode buildMode,
+                                Runnable releaseModule) {
             this.container = container;
             this.kieModule = kieModule;
+            this.releaseId = releaseId;
+            this.buildMode = buildMode;
+            this.releaseModule = releaseModule;
+        }
+        
+        /**
+         * Dispose the container and release its KieModule.
+         */
+        void dispose() {
+            try {
+                container.dispose();
+            } finally {
+                releaseModule.run();
+            }
         }
     }
     
@@ -855,34 +1246,73 @@ public class RuleEngineManager {
      * @return TotalRuleResults
      */
     public TotalRuleResults fireRules(String factType, Object fact) {
-        lock.readLock().lock();
+        // Lock-free read of the published container; rebuilds never block executions
+        ContainerInfo info = acquireContainer(factType);
+        if (info == null) {
+            return emptyResults();
+        }
+        
         try {
-            ContainerInfo info = containers.get(factType);
-            if (info == null || info.container == null) {
-                TotalRuleResults empty = new TotalRuleResults();
-                empty.setRunAt(LocalDateTime.now());
-                empty.setTotalScore(BigDecimal.ZERO);
-                return empty;
-            }
-            
-            // Create result container
-            TotalRuleResults results = new TotalRuleResults();
-            results.setRunAt(LocalDateTime.now());
-            
-            StatelessKieSession session = info.container.newStatelessKieSession();
-            // Set TotalRuleResults as global so rules can add outputs
-            session.setGlobal("totalResults", results);
-            session.execute(fact);
-            
-            // Aggregate results after execution
-            aggregateResults(results);
-            
-            return results;
+            warmup.record(factType, fact);
+            return execute(info, fact);
         } finally {
-            lock.readLock().unlock();
+            info.release();
         }
     }
     
+    /**
+     * Fire rules for many facts of one fact type against a single leased container.
+     * Facts are split into chunks that run in parallel on the batch executor; each fact
+     * still gets its own session and TotalRuleResults.
+     * 
+     * @param factType Fact type (e.g., "Declaration")
+     * @param facts Facts to evaluate (all of the given fact type)
+     * @return One future per fact, in the same order as the facts
+     */
+    public List<CompletableFuture<TotalRuleResults>> fireRulesBatch(String factType, List<?> facts) {
+        List<CompletableFuture<TotalRuleResults>> futures = new ArrayList<>(facts.size());
+        for (int i = 0; i < facts.size(); i++) {
+            futures.add(new CompletableFuture<>());
+        }
+        if (facts.isEmpty()) {
+            return futures;
+        }
+        
+        ContainerInfo info = acquireContainer(factType);
+        if (info == null) {
+            futures.forEach(future -> future.complete(emptyResults()));
+            return futures;
+        }
+        
+        int chunkSize = Math.max(MIN_BATCH_CHUNK, facts.size() / (batchParallelism * 4) + 1);
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        try {
+            for (int start = 0; start < facts.size(); start += chunkSize) {
+                int from = start;
+                int to = Math.min(facts.size(), start + chunkSize);
+                chunks.add(CompletableFuture.runAsync(() -> {
+                    // One fact per chunk is enough to keep the warm-up sample current
+                    warmup.record(factType, facts.get(from));
+                    for (int i = from; i < to; i++) {
+                        try {
+                            futures.get(i).complete(execute(info, facts.get(i)));
+                        } catch (Exception e) {
+                            futures.get(i).completeExceptionally(e);
+                        }
+                    }
+                }, batchExecutor));
+            }
+        } catch (RuntimeException e) {
+            // Executor rejected the work (shutting down); fail what was not scheduled
+            futures.forEach(future -> future.completeExceptionally(e));
+        }
+        
+        // The lease covers the whole batch and is released once every chunk has run
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture<?>[]::new))
+            .whenComplete((ignored, error) -> info.release());
+        return futures;
+    }
+    
     /**
      * Fire rules for Declaration (backward compatibility)
      */
@@ -892,7 +1322,8 @@ public class RuleEngineManager {
     
     /**
      * Fire rules with a specific version (for testing historical versions)
-     * This creates a temporary KieContainer from rules in the specified version
+     * Compiled containers are cached by (factType, version, rulesHash), so only the
+     * first execution against a version pays for the Drools compile.
      * 
      * @param factType Fact type (e.g., "Declaration")
      * @param fact Fact object to evaluate
@@ -911,114 +1342,306 @@ public class RuleEngineManager {
             }
             
             KieContainerVersion containerVersion = versionOpt.get();
-            String ruleIds = containerVersion.getRuleIds();
-            
-            if (ruleIds == null || ruleIds.isEmpty()) {
-                throw new IllegalArgumentException("No rules found in version " + version + " for fact type " + factType);
-            }
-            
-            // Parse rule IDs and load rules
-            List<Long> ruleIdList = Arrays.stream(ruleIds.split(","))
-                .filter(s -> !s.isEmpty())
-                .map(Long::parseLong)
-                .collect(Collectors.toList());
-            
-            List<DecisionRule> rules = decisionRuleRepository.findAllById(ruleIdList);
-            
-            if (rules.isEmpty()) {
-                throw new IllegalArgumentException("Rules not found for version " + version + " of fact type " + factType);
-            }
-            
-            // Build temporary KieContainer with these rules
-            KieContainerBuildResult buildResult = buildKieContainer(rules, factType, version);
+            VersionContainerCache.Key key = new VersionContainerCache.Key(
+                factType, version, containerVersion.getRulesHash());
             
+            ContainerInfo info = versionCache.acquire(key,
+                () -> buildVersionContainer(factType, version, containerVersion));
             try {
-                // Create result container
-                TotalRuleResults results = new TotalRuleResults();
-                results.setRunAt(LocalDateTime.now());
-                
-                StatelessKieSession session = buildResult.container.newStatelessKieSession();
-                // Set TotalRuleResults as global so rules can add outputs
-                session.setGlobal("totalResults", results);
-                session.execute(fact);
-                
-                // Aggregate results after execution
-                aggregateResults(results);
-                
-                return results;
+                return execute(info, fact);
             } finally {
-                // Cleanup temporary container
-                if (buildResult.container != null) {
-                    buildResult.container.dispose();
-                }
+                info.release();
             }
         } catch (Exception e) {
-            System.err.println("[RULE ENGINE] Error executing rules with version " + version + " for fact type " + factType + ": " + e.getMessage());
+            log.error("Error executing rules with version {} for fact type {}: {}", version, factType, e.getMessage());
             throw new RuntimeException("Failed to execute rules with version " + version + " for fact type " + factType, e);
         }
     }
     
-    private void aggregateResults(TotalRuleResults results) {
-        if (results.getHits().isEmpty()) {
-            results.setTotalScore(BigDecimal.ZERO);
-            results.setFinalAction("APPROVE"); // Default if no hits
-            return;
+    /**
+     * Compile the container for a historical version from the rule IDs recorded at deploy time
+     */
+    private ContainerInfo buildVersionContainer(String factType, long version, KieContainerVersion containerVersion) {
+        String ruleIds = containerVersion.getRuleIds();
+        
+        if (ruleIds == null || ruleIds.isEmpty()) {
+            throw new IllegalArgumentException("No rules found in version " + version + " for fact type " + factType);
         }
         
-        // Calculate total score (sum of all hit scores)
-        BigDecimal total = results.getHits().stream()
-            .map(hit -> hit.getScore() != null ? hit.getScore() : BigDecimal.ZERO)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        results.setTotalScore(total);
+        // Parse rule IDs and load rules
+        List<Long> ruleIdList = Arrays.stream(ruleIds.split(","))
+            .filter(s -> !s.isEmpty())
+            .map(Long::parseLong)
+            .collect(Collectors.toList());
         
-        // Determine final action (highest priority: REJECT > REVIEW > FLAG > HOLD > APPROVE)
-        String finalAction = results.getHits().stream()
-            .map(RuleOutputHit::getAction)
-            .filter(action -> action != null && !action.isEmpty())
-            .max(Comparator.comparingInt(action -> {
-                switch (action.toUpperCase()) {
-                    case "REJECT": return 5;
-                    case "REVIEW": return 4;
-                    case "FLAG": return 3;
-                    case "HOLD": return 2;
-                    case "APPROVE": return 1;
-                    default: return 0;
-                }
-            }))
-            .orElse("APPROVE");
-        results.setFinalAction(finalAction);
+        List<DecisionRule> rules = decisionRuleRepository.findAllById(ruleIdList);
         
-        // Determine final flag (use first non-null flag, or highest score flag)
-        String finalFlag = results.getHits().stream()
-            .filter(hit -> hit.getFlag() != null && !hit.getFlag().isEmpty())
-            .max(Comparator.comparing(hit -> hit.getScore() != null ? hit.getScore() : BigDecimal.ZERO))
-            .map(RuleOutputHit::getFlag)
-            .orElse(null);
-        results.setFinalFlag(finalFlag);
+        if (rules.isEmpty()) {
+            throw new IllegalArgumentException("Rules not found for version " + version + " of fact type " + factType);
+        }
+        
+        // Versions deployed since artifacts were enabled load without compiling. The hash is computed
+        // again: the recorded one may have been taken under another partition field
+        KieContainerBuildResult buildResult = loadArtifact(factType,
+            calculateRulesHash(sortedByPriority(rules), partitionFieldFor(factType)), version, rules.size());
+        if (buildResult == null) {
+            buildResult = buildKieContainer(rules, factType, version, KieModuleRegistry.Kind.VERSION);
+        }
+        return new ContainerInfo(factType, buildResult, version,
+            containerVersion.getRulesHash(), rules, sessionPoolSize, metrics, policyFor(factType),
+            partitionFieldFor(factType));
     }
     
-    private KieContainerBuildResult buildKieContainer(List<DecisionRule> rules, String factType, long versionNumber) {
-        log.info("🔨 Building KieContainer for factType={}, version={}, with {} rules", 
-                factType, versionNumber, rules.size());
+    /**
+     * Rules in deploy order (priority, then ID), so their hash matches the one taken at deploy time
+     */
+    private static List<DecisionRule> sortedByPriority(List<DecisionRule> rules) {
+        return rules.stream()
+            .sorted(java.util.Comparator.comparing(DecisionRule::getPriority, java.util.Comparator.nullsFirst(java.util.Comparator.naturalOrder()))
+                .thenComparing(DecisionRule::getId))
+            .toList();
+    }
+    
+    /**
+     * Get statistics of the historical-version container cache
+     */
+    public Map<String, Object> getVersionCacheStats() {
+        return versionCache.getStats();
+    }
+    
+    private TotalRuleResults emptyResults() {
+        TotalRuleResults empty = new TotalRuleResults();
+        empty.setRunAt(LocalDateTime.now());
+        empty.setTotalScore(BigDecimal.ZERO);
+        return empty;
+    }
+    
+    /**
+     * Execute one fact against a leased container and aggregate the hits
+     */
+    private TotalRuleResults execute(ContainerInfo info, Object fact) {
+        long start = System.nanoTime();
+        // Create result container
+        TotalRuleResults results = new TotalRuleResults();
+        results.setRunAt(LocalDateTime.now());
+        results.setExecutionPolicy(info.policy.toString());
+        
+        // Shared pooled session; TotalRuleResults is bound as a per-call global so rules can add outputs
+        runSession(info.session, results, fact, info.partitions.agendaGroupOf(fact));
+        info.ruleIndex.attribute(results.getHits());
+        
+        // Aggregate results after execution
+        aggregateResults(results);
+        
+        info.meters.recordExecution(System.nanoTime() - start, results.getHits().size());
+        return results;
+    }
+    
+    /**
+     * Run one fact through a stateless session with the totalResults global bound for this call only.
+     * Unlike setGlobal, the global command does not touch the session itself, so the session can be
+     * shared by concurrent executions.
+     * @param agendaGroup agenda group of the fact's partition, focused before firing; null for shared rules only
+     */
+    private static void runSession(StatelessKieSession session, TotalRuleResults results, Object fact,
+                                   String agendaGroup) {
+        KieCommands commands = KieServices.Factory.get().getCommands();
+        List<Command<?>> batch = agendaGroup == null
+            ? List.of(
+                commands.newSetGlobal("totalResults", results),
+                commands.newInsert(fact),
+                commands.newFireAllRules())
+            : List.of(
+                commands.newSetGlobal("totalResults", results),
+                commands.newInsert(fact),
+                commands.newAgendaGroupSetFocus(agendaGroup),
+                commands.newFireAllRules());
+        session.execute(commands.newBatchExecution(batch));
+    }
+    
+    /**
+     * Summarize the hits: total score, final action (most severe RuleAction, APPROVE without hits)
+     * and final flag (flag of the highest-scoring hit). The hit list aggregates as rules add hits,
+     * so this only copies the running aggregate unless the list was modified otherwise.
+     */
+    void aggregateResults(TotalRuleResults results) {
+        results.aggregate();
+    }
+    
+    /**
+     * Compile a one-off container (historical version or validation build) from scratch.
+     * Its KieModule stays in the KieRepository until the container is disposed.
+     */
+    KieContainerBuildResult buildKieContainer(List<DecisionRule> rules, String factType, long versionNumber,
+                                              KieModuleRegistry.Kind kind) {
+        long start = System.nanoTime();
+        BuildMode buildMode = buildModeFor(factType);
+        boolean success = false;
+        try {
+            KieContainerBuildResult result = compileKieContainer(rules, factType, versionNumber, kind, buildMode);
+            buildMode = result.buildMode;
+            success = true;
+            return result;
+        } finally {
+            metrics.recordCompile(factType, "full", buildMode, System.nanoTime() - start, success);
+        }
+    }
+    
+    /**
+     * Configured build mode of a fact type (rule-engine.compile.build-modes, else build-mode).
+     */
+    private BuildMode buildModeFor(String factType) {
+        return buildModes.getOrDefault(factType, defaultBuildMode);
+    }
+    
+    /**
+     * Configured execution policy of a fact type (rule-engine.execution.policies), else ALL.
+     */
+    private ExecutionPolicy policyFor(String factType) {
+        return executionPolicies.getOrDefault(factType, ExecutionPolicy.ALL);
+    }
+    
+    /**
+     * Configured partition field of a fact type (rule-engine.partitioning.fields), null if it has none.
+     */
+    private String partitionFieldFor(String factType) {
+        return partitionFields.get(factType);
+    }
+    
+    /**
+     * Build the container for a deploy or refresh from the fact type's workspace.
+     * In DRL mode only rules whose DRL changed since the previous build are recompiled; the first
+     * build of a fact type, and the first one after a failed build, compile every rule.
+     * In executable-model mode every rule is compiled each time, and rules that fail the
+     * executable-model compile are built from DRL instead.
+     */
+    private KieContainerBuildResult buildLiveContainer(List<DecisionRule> rules, String factType, long versionNumber) {
+        long start = System.nanoTime();
+        boolean success = false;
+        String mode = "full";
+        BuildMode buildMode = buildModeFor(factType);
+        try {
+            Map<String, String> sources = renderRuleSources(rules, factType);
+            RuleWorkspace previous = workspaces.get(factType);
+            RuleWorkspace workspace = null;
+            List<Message> errors = List.of();
+            if (buildMode == BuildMode.EXECUTABLE_MODEL) {
+                log.info("🔨 Building executable model for factType={}, version={}, with {} rules",
+                        factType, versionNumber, rules.size());
+                RuleWorkspace model = RuleWorkspace.create(factType, sources, BuildMode.EXECUTABLE_MODEL);
+                if (model.errors().isEmpty()) {
+                    workspace = model;
+                } else {
+                    log.warn("Rules of {} v{} do not compile to the executable model, building from DRL instead: {}",
+                            factType, versionNumber, model.errors().get(0).getText());
+                    buildMode = BuildMode.DRL;
+                }
+            }
+            if (workspace == null) {
+                if (previous != null && previous.supportsIncrementalBuild()) {
+                    mode = "incremental";
+                    workspace = previous;
+                    List<String> changedPaths = workspace.changedPaths(sources);
+                    log.info("🔨 Incremental build for factType={}, version={}: {} of {} rules changed",
+                            factType, versionNumber, changedPaths.size(), rules.size());
+                    errors = workspace.update(sources, changedPaths);
+                } else {
+                    log.info("🔨 Building workspace for factType={}, version={}, with {} rules",
+                            factType, versionNumber, rules.size());
+                    workspace = RuleWorkspace.create(factType, sources, BuildMode.DRL);
+                    errors = workspace.errors();
+                }
+            }
+            
+            if (!errors.isEmpty()) {
+                // The workspace now holds DRL that does not compile; start the next build from scratch
+                workspaces.remove(factType);
+                moduleRegistry.release(workspace.getReleaseId());
+                if (previous != null) {
+                    moduleRegistry.release(previous.getReleaseId());
+                }
+                throw compilationFailure(factType, versionNumber, rules.size(), errors, sources);
+            }
+            if (previous != null && !previous.getReleaseId().equals(workspace.getReleaseId())) {
+                // Build mode changed; the other mode's module only backs containers already created from it
+                moduleRegistry.release(previous.getReleaseId());
+            }
+            workspaces.put(factType, workspace);
+            // First registration adds the module to the KieRepository, later ones refresh its size estimate
+            moduleRegistry.register(workspace.getKieModule(), KieModuleRegistry.Kind.WORKSPACE, factType,
+                versionNumber, rules.size());
+            
+            // Live containers share the workspace module, which outlives them
+            KieContainerBuildResult result = new KieContainerBuildResult(workspace.newContainer(),
+                workspace.getKieModule(), releaseIdFor(factType, versionNumber), buildMode, () -> { });
+            success = true;
+            return result;
+        } finally {
+            metrics.recordCompile(factType, mode, buildMode, System.nanoTime() - start, success);
+        }
+    }
+    
+    private KieContainerBuildResult compileKieContainer(List<DecisionRule> rules, String factType, long versionNumber,
+                                                        KieModuleRegistry.Kind kind, BuildMode buildMode) {
+        log.info("🔨 Building KieContainer for factType={}, version={}, with {} rules ({})", 
+                factType, versionNumber, rules.size(), buildMode);
         
         KieServices kieServices = KieServices.Factory.get();
-        KieFileSystem kfs = kieServices.newKieFileSystem();
         
-        // Set ReleaseId with format: org.rule.{factType}:{version}
-        // groupId: "org.rule"
-        // artifactId: factType in lowercase (e.g., "declaration", "cargoreport") - Maven convention
-        // version: use actual version number (e.g., "1.0.0", "2.0.0", "3.0.0")
-        // Note: factType should match the class name (e.g., "Declaration", "CargoReport")
-        // which must be imported in DrlConstants.DRL_IMPORTS
-        String groupId = "org.rule";
-        String artifactId = factType.toLowerCase();
-        String version = versionNumber + ".0.0";
-        org.kie.api.builder.ReleaseId releaseId = kieServices.newReleaseId(groupId, artifactId, version);
-        kfs.generateAndWritePomXML(releaseId);
+        // Registered under a release ID unique to this build; reported as org.rule:{factType}:{version}.0.0
+        ReleaseId moduleReleaseId = moduleRegistry.newBuildReleaseId(kind, factType, versionNumber);
+        
+        Map<String, String> sources = renderRuleSources(rules, factType);
+        KieBuilder kieBuilder = RuleWorkspace.buildAll(kieServices.newKieFileSystem(), moduleReleaseId, sources, buildMode);
+        if (buildMode == BuildMode.EXECUTABLE_MODEL && kieBuilder.getResults().hasMessages(Message.Level.ERROR)) {
+            log.warn("Rules of {} v{} do not compile to the executable model, building from DRL instead: {}",
+                    factType, versionNumber, kieBuilder.getResults().getMessages(Message.Level.ERROR).get(0).getText());
+            buildMode = BuildMode.DRL;
+            kieBuilder = RuleWorkspace.buildAll(kieServices.newKieFileSystem(), moduleReleaseId, sources, buildMode);
+        }
+        
+        // Check for build errors
+        if (kieBuilder.getResults().hasMessages(Message.Level.ERROR)) {
+            throw compilationFailure(factType, versionNumber, rules.size(),
+                    kieBuilder.getResults().getMessages(Message.Level.ERROR), sources);
+        }
+        
+        KieModule kieModule = kieBuilder.getKieModule();
+        
+        // Register KieModule in KieRepository before creating container
+        // This ensures the KieModule can be found when creating container from ReleaseId
+        moduleRegistry.register(kieModule, kind, factType, versionNumber, rules.size());
         
-        StringBuilder drl = new StringBuilder();
+        // Create container from the built KieModule's ReleaseId
+        KieContainer container;
+        try {
+            container = kieServices.newKieContainer(moduleReleaseId);
+        } catch (RuntimeException e) {
+            moduleRegistry.release(moduleReleaseId);
+            throw e;
+        }
         
-        // DRL header (package, imports, globals)
+        return new KieContainerBuildResult(container, kieModule, releaseIdFor(factType, versionNumber), buildMode,
+            () -> moduleRegistry.release(moduleReleaseId));
+    }
+    
+    /**
+     * ReleaseId with format: org.rule:{factType}:{version}
+     * groupId: "org.rule"
+     * artifactId: factType in lowercase (e.g., "declaration", "cargoreport") - Maven convention
+     * version: use actual version number (e.g., "1.0.0", "2.0.0", "3.0.0")
+     */
+    private ReleaseId releaseIdFor(String factType, long versionNumber) {
+        return KieServices.Factory.get().newReleaseId("org.rule", factType.toLowerCase(), versionNumber + ".0.0");
+    }
+    
+    /**
+     * Render one DRL resource per rule (DRL header + rule definition), keyed by resource path
+     * {package}/{factType}_rule_{id}.drl, so that a single rule can be recompiled on its own.
+     * Note: factType should match the class name (e.g., "Declaration", "CargoReport")
+     * which must be imported in DrlConstants.DRL_IMPORTS
+     */
+    private Map<String, String> renderRuleSources(List<DecisionRule> rules, String factType) {
         // Import only classes relevant to factType (Declaration or CargoReport)
         // Convert String factType to FactType enum
         FactType factTypeEnum;
@@ -1028,14 +1651,22 @@ public class RuleEngineManager {
             // Default to DECLARATION if factType is unknown
             factTypeEnum = FactType.DECLARATION;
         }
-        drl.append(DrlConstants.buildDrlHeader(factTypeEnum));
+        // DRL header (package, imports, globals), repeated in every rule resource
+        String header = DrlConstants.buildDrlHeader(factTypeEnum);
+        // Rules with a partition key go to the agenda group of their key; without a partition field they are shared
+        String partitionField = partitionFieldFor(factType);
+        // Folder must match the DRL package, Drools warns on every resource otherwise
+        String prefix = DrlConstants.DRL_PACKAGE.replace('.', '/') + "/" + factType.toLowerCase() + "_";
         
+        Map<String, String> sources = new LinkedHashMap<>();
         int rulesAdded = 0;
-        for (DecisionRule rule : rules) {
+        for (int i = 0; i < rules.size(); i++) {
+            DecisionRule rule = rules.get(i);
             if (rule == null) {
                 log.warn("Null rule encountered, skipping");
                 continue;
             }
+            StringBuilder drl = new StringBuilder(header);
             // Use ruleContent directly (complete DRL)
             String ruleContent = rule.getRuleContent();
             if (ruleContent == null || ruleContent.isBlank()) {
@@ -1044,6 +1675,7 @@ public class RuleEngineManager {
                 String droolsRuleName = rule.getRuleName() + "_" + rule.getId();
                 drl.append("rule \"").append(droolsRuleName).append("\"\n");
                 drl.append("salience ").append(rule.getPriority()).append("\n");
+                appendAgendaGroup(drl, rule, partitionField);
                 drl.append("when\n");
                 // Use factType directly (e.g., "CargoReport") - must match imported class name
                 // Determine correct variable name based on fact type
@@ -1057,51 +1689,63 @@ public class RuleEngineManager {
                 }
                 drl.append("    ").append(factVariable).append(" : ").append(factType).append("()\n");
                 drl.append("then\n");
-                drl.append("end\n\n");
+                drl.append("end\n");
             } else {
                 // ruleContent is complete DRL (includes package, imports, globals, and rule)
                 // Extract just the rule definition part (skip package/imports/global if present)
                 String ruleDefinition = extractRuleDefinition(ruleContent);
-                if (ruleDefinition != null && !ruleDefinition.isBlank()) {
-                    drl.append(ruleDefinition);
-                    if (!ruleDefinition.endsWith("\n")) {
-                        drl.append("\n");
-                    }
-                    drl.append("\n"); // Add blank line between rules
-                    rulesAdded++;
-                    log.info("  ✅ Added rule to DRL: ID={}, Name={}", rule.getId(), rule.getRuleName());
-                } else {
+                if (ruleDefinition == null || ruleDefinition.isBlank()) {
                     log.warn("  ⚠️ Rule definition is empty for rule ID={}, Name={}", rule.getId(), rule.getRuleName());
+                    continue;
                 }
+                // Attributes follow the rule name line
+                int nameEnd = ruleDefinition.indexOf('\n') + 1;
+                drl.append(ruleDefinition, 0, nameEnd);
+                appendAgendaGroup(drl, rule, partitionField);
+                drl.append(ruleDefinition, nameEnd, ruleDefinition.length());
+                rulesAdded++;
+                log.debug("  ✅ Added rule to DRL: ID={}, Name={}", rule.getId(), rule.getRuleName());
             }
+            // Unsaved rules (validation of a change request) have no ID yet
+            String fileName = rule.getId() != null ? "rule_" + rule.getId() : "rule_new_" + i;
+            sources.put(prefix + fileName + ".drl", drl.toString());
         }
         
         log.info("📊 Total rules added to DRL: {} out of {}", rulesAdded, rules.size());
-        String drlContent = drl.toString();
-        kfs.write("src/main/resources/rules/" + factType.toLowerCase() + "_rules.drl", drlContent);
-        
-        KieBuilder kieBuilder = kieServices.newKieBuilder(kfs).buildAll();
-        
-        // Check for build errors
-        if (kieBuilder.getResults().hasMessages(Message.Level.ERROR)) {
-            List<Message> errorMessages = kieBuilder.getResults().getMessages(Message.Level.ERROR);
-            String errorDetails = formatDroolsErrors(errorMessages);
-            String drlPreview = buildDrlPreview(drlContent);
-            log.error("Drools reported {} compilation errors for factType={}, version={}, rules={}\n{}",
-                    errorMessages.size(), factType, version, rules.size(), errorDetails);
-            throw new RuleCompilationException(factType, versionNumber, rules.size(), errorDetails, drlPreview);
+        return sources;
+    }
+    
+    private static void appendAgendaGroup(StringBuilder drl, DecisionRule rule, String partitionField) {
+        String partitionKey = RulePartitions.partitionKeyOf(rule);
+        if (partitionKey == null) {
+            return;
         }
-        
-        KieModule kieModule = kieBuilder.getKieModule();
-        
-        // Register KieModule in KieRepository before creating container
-        // This ensures the KieModule can be found when creating container from ReleaseId
-        kieServices.getRepository().addKieModule(kieModule);
-        
-        // Create container from the built KieModule's ReleaseId
-        KieContainer container = kieServices.newKieContainer(kieModule.getReleaseId());
-        
-        return new KieContainerBuildResult(container, kieModule);
+        if (partitionField == null) {
+            log.warn("Rule {} has partition key {} but fact type {} has no partition field; compiled as a shared rule",
+                rule.getId(), partitionKey, rule.getFactType());
+            return;
+        }
+        drl.append(RulePartitions.agendaGroupAttribute(partitionKey));
+    }
+    
+    /**
+     * Log Drools errors and build the exception reported to callers. The DRL preview holds the
+     * resources that failed to compile.
+     */
+    private RuleCompilationException compilationFailure(String factType, long versionNumber, int ruleCount,
+                                                        List<Message> errorMessages, Map<String, String> sources) {
+        String errorDetails = formatDroolsErrors(errorMessages);
+        String failedDrl = errorMessages.stream()
+                .map(Message::getPath)
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(sources::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining("\n"));
+        String drlPreview = buildDrlPreview(failedDrl.isEmpty() ? String.join("\n", sources.values()) : failedDrl);
+        log.error("Drools reported {} compilation errors for factType={}, version={}, rules={}\n{}",
+                errorMessages.size(), factType, versionNumber, ruleCount, errorDetails);
+        return new RuleCompilationException(factType, versionNumber, ruleCount, errorDetails, drlPreview);
     }
     
     /**
@@ -1171,7 +1815,7 @@ public class RuleEngineManager {
      */
     private void saveDeploymentSnapshot(FactType factType, long containerVersion, List<DecisionRule> rules) {
         try {
-            System.out.println("[RULE ENGINE]   Saving snapshot for version " + containerVersion + " with " + rules.size() + " rules...");
+            log.debug("Saving snapshot for version {} with {} rules", containerVersion, rules.size());
             
             for (DecisionRule rule : rules) {
                 rule.engine.org.app.domain.entity.ui.RuleDeploymentSnapshot snapshot = 
@@ -1185,15 +1829,13 @@ public class RuleEngineManager {
                 snapshot.setRuleActive(rule.getStatus() == RuleStatus.ACTIVE);
                 snapshot.setRuleContent(rule.getRuleContent());
                 
-                System.out.println("[RULE ENGINE]     - Saving rule: " + rule.getRuleName() + " (ID: " + rule.getId() + ")");
+                log.debug("  Saving rule: {} (ID: {})", rule.getRuleName(), rule.getId());
                 snapshotRepository.save(snapshot);
-                System.out.println("[RULE ENGINE]     ✓ Saved");
             }
             
-            System.out.println("[RULE ENGINE]   ✓ Saved snapshot: " + rules.size() + " rules for version " + containerVersion);
+            log.info("✓ Saved snapshot: {} rules for version {}", rules.size(), containerVersion);
         } catch (Exception e) {
-            System.err.println("[RULE ENGINE]   ✗ WARNING: Failed to save deployment snapshot: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("✗ Failed to save deployment snapshot for version {}: {}", containerVersion, e.getMessage(), e);
         }
     }
     
@@ -1202,16 +1844,24 @@ public class RuleEngineManager {
      */
     @jakarta.annotation.PreDestroy
     public void disposeAll() {
-        lock.writeLock().lock();
+        compileExecutor.shutdownNow();
+        // Wait for in-progress builds of every fact type
+        List<ReentrantLock> locks = new TreeMap<>(rebuildLocks).values().stream().toList();
+        locks.forEach(ReentrantLock::lock);
         try {
-            for (ContainerInfo info : containers.values()) {
-                if (info.container != null) {
-                    info.container.dispose();
-                }
+            Map<String, ContainerInfo> previous = containers.getAndSet(Map.of());
+            for (ContainerInfo info : previous.values()) {
+                info.retire();
+            }
+            versionCache.clear();
+            workspaces.clear();
+            moduleRegistry.clear();
+            if (artifactStore != null) {
+                artifactStore.shutdown();
             }
-            containers.clear();
+            batchExecutor.shutdown();
         } finally {
-            lock.writeLock().unlock();
+            locks.forEach(ReentrantLock::unlock);
         }
     }
 }
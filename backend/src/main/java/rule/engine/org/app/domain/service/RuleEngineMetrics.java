@@ -0,0 +1,223 @@
+package rule.engine.org.app.domain.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.springframework.stereotype.Component;
+import rule.engine.org.app.config.RuleEngineProperties.Compile.BuildMode;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micrometer meters of the rule engine, tagged by fact type: compile, swap and warm-up durations,
+ * execution latency (and that of a container's first execution), hits per execution and per-rule
+ * fire counts. Compile and first-execution meters are also tagged by build mode, to compare DRL and
+ * executable-model containers.
+ * Meters of a container are also tagged by its version. They are created once when it is built and
+ * removed when the last container of that fact type and version is disposed, so the execution path
+ * never looks meters up in the registry. Compile, swap and warm-up meters record events and live as
+ * long as the registry, so they are not tagged by version, which would add series on every deploy.
+ */
+@Component
+public class RuleEngineMetrics {
+
+    private static final Set<String> CONTAINER_METER_NAMES = Set.of(
+        "rule.engine.execution", "rule.engine.execution.first", "rule.engine.execution.hits", "rule.engine.rule.fires");
+
+    private final MeterRegistry registry;
+    // Live containers per (factType, version): a refresh rebuilds the same version and the
+    // version cache may hold it too, and Micrometer hands them the same meters
+    private final Map<Tags, AtomicInteger> containerRefs = new ConcurrentHashMap<>();
+
+    public RuleEngineMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Record one KieContainer compile (deploy, refresh, historical version or validation build).
+     * @param mode "full" when every rule was compiled, "incremental" when only changed rules were
+     * @param buildMode build mode the container was compiled in (after a fallback to DRL, DRL)
+     */
+    void recordCompile(String factType, String mode, BuildMode buildMode, long nanos, boolean success) {
+        Timer.builder("rule.engine.compile")
+            .description("Time to compile rules into a KieContainer")
+            .tags(Tags.of("factType", factType, "mode", mode, "buildMode", tagValue(buildMode),
+                "outcome", success ? "success" : "failure"))
+            .register(registry)
+            .record(java.time.Duration.ofNanos(nanos));
+    }
+
+    /**
+     * Record publishing a new live container and retiring the previous one.
+     */
+    void recordSwap(String factType, long nanos) {
+        Timer.builder("rule.engine.container.swap")
+            .description("Time to publish a new container and retire the previous one")
+            .tag("factType", factType)
+            .register(registry)
+            .record(java.time.Duration.ofNanos(nanos));
+    }
+
+    /**
+     * Record the warm-up of a new container before it was published.
+     * @param stable false if the budget ran out before the time per fact settled
+     */
+    void recordWarmup(String factType, long nanos, int executions, boolean stable) {
+        Timer.builder("rule.engine.warmup")
+            .description("Time spent warming up a new container before publishing it")
+            .tags("factType", factType, "outcome", stable ? "stable" : "budget")
+            .register(registry)
+            .record(java.time.Duration.ofNanos(nanos));
+        Counter.builder("rule.engine.warmup.executions")
+            .description("Sample executions replayed to warm up new containers")
+            .tag("factType", factType)
+            .register(registry)
+            .increment(executions);
+    }
+
+    /**
+     * Gauges of the KieModules retained in the KieRepository, by kind.
+     */
+    void bindModuleRegistry(KieModuleRegistry modules) {
+        for (KieModuleRegistry.Kind kind : KieModuleRegistry.Kind.values()) {
+            Tags tags = Tags.of("kind", kind.name().toLowerCase());
+            Gauge.builder("rule.engine.kie.modules", modules, tracked -> tracked.count(kind))
+                .description("KieModules retained in the KieRepository")
+                .tags(tags)
+                .register(registry);
+            Gauge.builder("rule.engine.kie.modules.retained", modules, tracked -> tracked.estimatedBytes(kind))
+                .description("Estimated bytes of KieModule resources retained in the KieRepository")
+                .tags(tags)
+                .baseUnit("bytes")
+                .register(registry);
+        }
+    }
+
+    /**
+     * Create the execution meters of one container.
+     */
+    ContainerMeters forContainer(String factType, long version, BuildMode buildMode, RuleIndex ruleIndex) {
+        return new ContainerMeters(factType, version, buildMode, ruleIndex);
+    }
+
+    private static Tags containerTags(String factType, long version) {
+        return Tags.of("factType", factType, "version", String.valueOf(version));
+    }
+
+    private static String tagValue(BuildMode buildMode) {
+        return buildMode.name().toLowerCase().replace('_', '-');
+    }
+
+    /**
+     * Execution meters of one container, plus the agenda listener counting rule fires.
+     */
+    final class ContainerMeters {
+        private final Timer execution;
+        private final Timer firstExecution;
+        private final DistributionSummary hits;
+        final RuleFireListener ruleFireListener;
+
+        private final Tags tags;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean executed = new AtomicBoolean();
+        // Warm-up executions before the container is published do not count as rule fires
+        private volatile boolean ruleFiresPaused;
+
+        private ContainerMeters(String factType, long version, BuildMode buildMode, RuleIndex ruleIndex) {
+            this.tags = containerTags(factType, version);
+            containerRefs.computeIfAbsent(tags, key -> new AtomicInteger()).incrementAndGet();
+            this.execution = Timer.builder("rule.engine.execution")
+                .description("Rule execution latency per fact")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+            this.firstExecution = Timer.builder("rule.engine.execution.first")
+                .description("Latency of the first execution against a new container")
+                .tags(tags.and("buildMode", tagValue(buildMode)))
+                .register(registry);
+            this.hits = DistributionSummary.builder("rule.engine.execution.hits")
+                .description("Rule hits per execution")
+                .tags(tags)
+                .register(registry);
+            this.ruleFireListener = new RuleFireListener(ruleIndex);
+        }
+
+        /**
+         * Record one execution against the container.
+         */
+        void recordExecution(long nanos, int hitCount) {
+            execution.record(nanos, TimeUnit.NANOSECONDS);
+            if (!executed.get() && executed.compareAndSet(false, true)) {
+                firstExecution.record(nanos, TimeUnit.NANOSECONDS);
+            }
+            hits.record(hitCount);
+        }
+
+        void pauseRuleFires() {
+            ruleFiresPaused = true;
+        }
+
+        void resumeRuleFires() {
+            ruleFiresPaused = false;
+        }
+
+        /**
+         * Container disposed: remove the meters of its fact type and version unless another container still uses them.
+         */
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            AtomicInteger refs = containerRefs.get(tags);
+            if (refs == null || refs.decrementAndGet() > 0) {
+                return;
+            }
+            containerRefs.remove(tags, refs);
+            List<Meter> stale = registry.getMeters().stream()
+                .filter(meter -> CONTAINER_METER_NAMES.contains(meter.getId().getName()))
+                .filter(meter -> tags.stream().allMatch(tag -> tag.getValue().equals(meter.getId().getTag(tag.getKey()))))
+                .toList();
+            stale.forEach(registry::remove);
+        }
+
+        /**
+         * Counts fires per rule. Counters are created on a rule's first fire and cached by Drools rule name.
+         */
+        final class RuleFireListener extends DefaultAgendaEventListener {
+            private final RuleIndex ruleIndex;
+            private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+            private RuleFireListener(RuleIndex ruleIndex) {
+                this.ruleIndex = ruleIndex;
+            }
+
+            @Override
+            public void afterMatchFired(AfterMatchFiredEvent event) {
+                if (ruleFiresPaused) {
+                    return;
+                }
+                counters.computeIfAbsent(event.getMatch().getRule().getName(), this::newCounter).increment();
+            }
+
+            private Counter newCounter(String droolsName) {
+                Long ruleId = ruleIndex.ruleIdOf(droolsName);
+                return Counter.builder("rule.engine.rule.fires")
+                    .description("Number of times a rule fired")
+                    .tags(tags.and("ruleId", ruleId != null ? ruleId.toString() : "unknown"))
+                    .register(registry);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package rule.engine.org.app.domain.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rule.engine.org.app.domain.entity.execution.RuleOutputHit;
+import rule.engine.org.app.domain.repository.RuleFireStatsRepository;
+import rule.engine.org.app.domain.repository.RuleFireStatsRepository.FireCount;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-rule fire counts. Executions count their rule hits in striped in-memory counters (one
+ * LongAdder per rule, day and execution source) and the counts are added to rule_fire_stats every
+ * flush interval. Reads sum the rule's day buckets and add what this instance has not flushed yet,
+ * so a count costs the same however many executions the rule has.
+ * A rule counts once per execution it hit, like the one result row written per rule that hit;
+ * executions are counted even if the result writer later drops their rows.
+ */
+@Service
+@Slf4j
+public class RuleFireCounter {
+
+    private record Key(long ruleId, LocalDate day, String executionSource) {
+    }
+
+    private final RuleFireStatsRepository fireStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Fires not flushed yet; a flush subtracts what it wrote, so hits counted meanwhile are kept
+    private final Map<Key, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public RuleFireCounter(RuleFireStatsRepository fireStatsRepository, PlatformTransactionManager transactionManager) {
+        this.fireStatsRepository = fireStatsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Count the rules hit by one execution, each once however many hits it produced.
+     */
+    public void record(List<RuleOutputHit> hits, LocalDateTime executedAt, String executionSource) {
+        LocalDate day = executedAt.toLocalDate();
+        String source = executionSource != null ? executionSource : "API";
+        for (int i = 0; i < hits.size(); i++) {
+            Long ruleId = hits.get(i).getRuleId();
+            if (ruleId != null && !hitEarlier(hits, i, ruleId)) {
+                pending.computeIfAbsent(new Key(ruleId, day, source), key -> new LongAdder()).increment();
+            }
+        }
+    }
+
+    private static boolean hitEarlier(List<RuleOutputHit> hits, int index, Long ruleId) {
+        for (int i = 0; i < index; i++) {
+            if (ruleId.equals(hits.get(i).getRuleId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Times a rule has fired.
+     */
+    public long fireCount(Long ruleId) {
+        long unflushed = 0;
+        for (Map.Entry<Key, LongAdder> entry : pending.entrySet()) {
+            if (entry.getKey().ruleId() == ruleId) {
+                unflushed += entry.getValue().sum();
+            }
+        }
+        return fireStatsRepository.countFires(ruleId) + unflushed;
+    }
+
+    /**
+     * Times each of several rules has fired; every requested rule is in the result, zero if it never fired.
+     */
+    public Map<Long, Long> fireCounts(Collection<Long> ruleIds) {
+        Map<Long, Long> counts = new HashMap<>(fireStatsRepository.countFires(ruleIds));
+        for (Long ruleId : ruleIds) {
+            counts.putIfAbsent(ruleId, 0L);
+        }
+        for (Map.Entry<Key, LongAdder> entry : pending.entrySet()) {
+            counts.computeIfPresent(entry.getKey().ruleId(), (ruleId, count) -> count + entry.getValue().sum());
+        }
+        return counts;
+    }
+
+    /**
+     * Add the counted fires to rule_fire_stats in one transaction. If the write fails the counts
+     * stay pending for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${rule-engine.fire-stats.flush-interval:5s}")
+    public synchronized void flush() {
+        Map<Key, Long> snapshot = new HashMap<>();
+        List<FireCount> counts = new ArrayList<>();
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        for (Map.Entry<Key, LongAdder> entry : pending.entrySet()) {
+            Key key = entry.getKey();
+            long count = entry.getValue().sum();
+            if (count > 0) {
+                snapshot.put(key, count);
+                counts.add(new FireCount(key.ruleId(), key.day(), key.executionSource(), count));
+            } else if (key.day().isBefore(yesterday)) {
+                // Idle counter of a past day: executions are stamped when they run, so it gets no more hits
+                pending.remove(key, entry.getValue());
+            }
+        }
+        if (counts.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> fireStatsRepository.addFires(counts));
+        } catch (Exception e) {
+            log.error("Failed to write {} rule fire counts, keeping them for the next flush", counts.size(), e);
+            return;
+        }
+        snapshot.forEach((key, count) -> pending.get(key).add(-count));
+    }
+
+    /**
+     * Write the last counts before the datasource closes.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,149 @@
+package rule.engine.org.app.domain.service;
+
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import rule.engine.org.app.domain.entity.execution.RuleOutputHit;
+import rule.engine.org.app.domain.entity.execution.TotalRuleResults;
+import rule.engine.org.app.domain.entity.ui.DecisionRule;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable lookup table of the rules compiled into one container, built once at deploy time.
+ * Maps rule ID to rule metadata and Drools rule name to rule ID, so hits can be attributed
+ * to the DecisionRule that produced them without parsing descriptions or querying the database.
+ */
+final class RuleIndex {
+
+    /**
+     * Metadata of a compiled rule.
+     */
+    record RuleMeta(Long ruleId, String ruleName, String droolsName, Integer priority) {
+    }
+
+    private static final Pattern RULE_NAME_PATTERN = Pattern.compile("rule\\s+\"([^\"]+)\"|rule\\s+(\\S+)");
+    private static final String RULE_ID_MARKER = "RULE_ID:";
+
+    private final Map<Long, RuleMeta> rulesById;
+    private final Map<String, Long> ruleIdsByDroolsName;
+    // True when some rule was generated before hits carried a rule ID (DRL without setRuleId)
+    private final boolean hasLegacyRules;
+
+    private RuleIndex(Map<Long, RuleMeta> rulesById, Map<String, Long> ruleIdsByDroolsName, boolean hasLegacyRules) {
+        this.rulesById = rulesById;
+        this.ruleIdsByDroolsName = ruleIdsByDroolsName;
+        this.hasLegacyRules = hasLegacyRules;
+    }
+
+    /**
+     * Index the rules that were compiled into a container.
+     */
+    static RuleIndex of(List<DecisionRule> rules) {
+        Map<Long, RuleMeta> byId = new HashMap<>();
+        Map<String, Long> byDroolsName = new HashMap<>();
+        boolean legacy = false;
+        for (DecisionRule rule : rules) {
+            if (rule == null || rule.getId() == null) {
+                continue;
+            }
+            String droolsName = droolsNameOf(rule);
+            byId.put(rule.getId(), new RuleMeta(rule.getId(), rule.getRuleName(), droolsName, rule.getPriority()));
+            byDroolsName.putIfAbsent(droolsName, rule.getId());
+            String content = rule.getRuleContent();
+            if (content != null && !content.isBlank() && !content.contains(".setRuleId(")) {
+                legacy = true;
+            }
+        }
+        return new RuleIndex(Map.copyOf(byId), Map.copyOf(byDroolsName), legacy);
+    }
+
+    private static String droolsNameOf(DecisionRule rule) {
+        String content = rule.getRuleContent();
+        if (content != null) {
+            Matcher matcher = RULE_NAME_PATTERN.matcher(content);
+            if (matcher.find()) {
+                return matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+            }
+        }
+        // Same name buildKieContainer generates for rules without content
+        return rule.getRuleName() + "_" + rule.getId();
+    }
+
+    RuleMeta get(Long ruleId) {
+        return ruleId != null ? rulesById.get(ruleId) : null;
+    }
+
+    Long ruleIdOf(String droolsName) {
+        return ruleIdsByDroolsName.get(droolsName);
+    }
+
+    /**
+     * Whether executions need {@link HitAttributionListener} to attribute hits of legacy rules.
+     */
+    boolean requiresListener() {
+        return hasLegacyRules;
+    }
+
+    /**
+     * Finalize the rule ID of every hit in one pass: keep IDs that belong to this container,
+     * fall back to the RULE_ID marker in the description for hits without one, and clear IDs
+     * of rules that are not part of this container.
+     */
+    void attribute(List<RuleOutputHit> hits) {
+        for (RuleOutputHit hit : hits) {
+            Long ruleId = hit.getRuleId();
+            if (get(ruleId) == null) {
+                ruleId = parseMarker(hit.getDescription());
+            }
+            hit.setRuleId(get(ruleId) != null ? ruleId : null);
+        }
+    }
+
+    private static Long parseMarker(String description) {
+        if (description == null) {
+            return null;
+        }
+        int markerIdx = description.indexOf(RULE_ID_MARKER);
+        if (markerIdx < 0) {
+            return null;
+        }
+        int start = markerIdx + RULE_ID_MARKER.length();
+        int end = start;
+        while (end < description.length() && end - start < 18 && Character.isDigit(description.charAt(end))) {
+            end++;
+        }
+        return end > start ? Long.parseLong(description.substring(start, end)) : null;
+    }
+
+    /**
+     * Stamps the firing rule's ID on hits added by rules whose THEN clause does not set one.
+     * Stateless, so one instance can be registered on a session shared by concurrent executions:
+     * after each firing it walks back from the newest hit over hits that have no rule ID yet.
+     */
+    static final class HitAttributionListener extends DefaultAgendaEventListener {
+        // Marks hits of rules missing from the index so later firings do not claim them; cleared by attribute()
+        private static final Long UNKNOWN_RULE = -1L;
+
+        private final RuleIndex index;
+
+        HitAttributionListener(RuleIndex index) {
+            this.index = index;
+        }
+
+        @Override
+        public void afterMatchFired(AfterMatchFiredEvent event) {
+            if (!(event.getKieRuntime().getGlobal("totalResults") instanceof TotalRuleResults results)) {
+                return;
+            }
+            List<RuleOutputHit> hits = results.getHits();
+            Long ruleId = index.ruleIdOf(event.getMatch().getRule().getName());
+            for (int i = hits.size() - 1; i >= 0 && hits.get(i).getRuleId() == null; i--) {
+                hits.get(i).setRuleId(ruleId != null ? ruleId : UNKNOWN_RULE);
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package rule.engine.org.app.domain.service;
+
+import rule.engine.org.app.domain.entity.ui.DecisionRule;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routing of facts to the partitioned rules of a fact type. A rule with a partition key is compiled
+ * into the agenda group of its key; an execution reads the partition field of its fact and focuses
+ * that group. Phreak evaluates rules lazily per agenda group, so an execution only evaluates the
+ * rules of its fact's partition and the shared rules (MAIN); groups without focus are never evaluated.
+ * Partitioned rules fire before the shared rules, each group in salience order, so salience only
+ * orders rules within a group. An execution policy that halts early (ExecutionPolicy) can therefore
+ * stop on a partitioned hit before a shared rule of higher priority has fired.
+ */
+final class RulePartitions {
+
+    static final RulePartitions NONE = new RulePartitions(null, Map.of());
+
+    private static final String GROUP_PREFIX = "partition:";
+
+    private final String field;
+    // Agenda group by partition key, only keys that have rules; null routes every key (temporary containers)
+    private final Map<String, String> groups;
+    // Getter of the partition field per fact class, null if the class has none
+    private final ClassValue<Method> getters = new ClassValue<>() {
+        @Override
+        protected Method computeValue(Class<?> type) {
+            return getterOf(type, field);
+        }
+    };
+
+    private RulePartitions(String field, Map<String, String> groups) {
+        this.field = field;
+        this.groups = groups;
+    }
+
+    /**
+     * Routing to the partitions of the rules compiled into a container.
+     * @param field partition field of the fact type, null if it is not partitioned
+     */
+    static RulePartitions of(String field, List<DecisionRule> rules) {
+        if (field == null) {
+            return NONE;
+        }
+        Map<String, String> groups = new HashMap<>();
+        for (DecisionRule rule : rules) {
+            String key = rule != null ? partitionKeyOf(rule) : null;
+            if (key != null) {
+                groups.computeIfAbsent(key, RulePartitions::agendaGroup);
+            }
+        }
+        return new RulePartitions(field, Map.copyOf(groups));
+    }
+
+    /**
+     * Routing for a container whose rules are not known (validation builds): every key gets focus.
+     */
+    static RulePartitions open(String field) {
+        return field != null ? new RulePartitions(field, null) : NONE;
+    }
+
+    /**
+     * Trimmed partition key of a rule, null for shared rules.
+     */
+    static String partitionKeyOf(DecisionRule rule) {
+        String key = rule.getPartitionKey();
+        if (key == null || key.isBlank()) {
+            return null;
+        }
+        return key.strip();
+    }
+
+    static String agendaGroup(String partitionKey) {
+        return GROUP_PREFIX + partitionKey;
+    }
+
+    /**
+     * DRL attribute line placing a rule in the agenda group of its partition key. Drools treats a
+     * ruleflow-group as the agenda group of the same name and deprecates the agenda-group attribute.
+     */
+    static String agendaGroupAttribute(String partitionKey) {
+        String group = agendaGroup(partitionKey).replace("\\", "\\\\").replace("\"", "\\\"");
+        return "ruleflow-group \"" + group + "\"\n";
+    }
+
+    /**
+     * Whether a fact class has a getter for the partition field.
+     */
+    static boolean hasField(Class<?> type, String field) {
+        return getterOf(type, field) != null;
+    }
+
+    String field() {
+        return field;
+    }
+
+    /**
+     * Partition keys that have rules, -1 for an open routing.
+     */
+    int partitionCount() {
+        return groups != null ? groups.size() : -1;
+    }
+
+    /**
+     * Agenda group to focus for a fact.
+     * @return null if the fact has no partition value or no rules are in its partition
+     */
+    String agendaGroupOf(Object fact) {
+        if (field == null || fact == null || (groups != null && groups.isEmpty())) {
+            return null;
+        }
+        Method getter = getters.get(fact.getClass());
+        if (getter == null) {
+            return null;
+        }
+        Object value;
+        try {
+            value = getter.invoke(fact);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot read partition field " + field + " of " + fact.getClass().getName(), e);
+        }
+        if (value == null) {
+            return null;
+        }
+        String key = value.toString();
+        return groups != null ? groups.get(key) : agendaGroup(key);
+    }
+
+    private static Method getterOf(Class<?> type, String field) {
+        if (field == null || field.isEmpty()) {
+            return null;
+        }
+        String suffix = Character.toUpperCase(field.charAt(0)) + field.substring(1);
+        for (String name : new String[]{"get" + suffix, "is" + suffix}) {
+            try {
+                Method method = type.getMethod(name);
+                if (method.getReturnType() != void.class) {
+                    return method;
+                }
+            } catch (NoSuchMethodException e) {
+                // try the next accessor name
+            }
+        }
+        return null;
+    }
+}
@@ -1,8 +1,8 @@
 package rule.engine.org.app.domain.service;
 
 import org.springframework.stereotype.Service;
-import rule.engine.org.app.domain.entity.execution.declaration.Declaration;
 import rule.engine.org.app.domain.entity.execution.TotalRuleResults;
+import rule.engine.org.app.domain.fact.declaration.Declaration;
 
 @Service
 public class RuleService {
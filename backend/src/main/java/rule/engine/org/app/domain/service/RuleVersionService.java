@@ -67,6 +67,7 @@ public class RuleVersionService {
         newVersion.setLabel(updatedRule.getLabel());
         newVersion.setRuleContent(updatedRule.getRuleContent());
         newVersion.setPriority(updatedRule.getPriority());
+        newVersion.setPartitionKey(updatedRule.getPartitionKey());
         newVersion.setStatus(updatedRule.getStatus());
         newVersion.setFactType(updatedRule.getFactType());
         
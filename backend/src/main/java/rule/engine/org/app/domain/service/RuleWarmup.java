@@ -0,0 +1,163 @@
+package rule.engine.org.app.domain.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rule.engine.org.app.config.RuleEngineProperties;
+import rule.engine.org.app.domain.entity.ui.FactType;
+import rule.engine.org.app.util.EntityScannerService;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Warm-up of a new container before it is published. Recently executed facts of the fact type
+ * (the bundled sample file when none have been executed yet) are replayed through the container
+ * in rounds until the time per fact is stable or the budget is spent, so that lazily initialized
+ * Phreak node memories and JIT compilation are paid for before real requests reach the container.
+ */
+class RuleWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(RuleWarmup.class);
+
+    private static final Map<FactType, String> SAMPLE_RESOURCES = Map.of(
+        FactType.DECLARATION, "goods-declaration-sample.json",
+        FactType.CARGO_REPORT, "cargo-report-sample.json");
+
+    /**
+     * Outcome of one warm-up.
+     * @param stable false if the budget ran out (or an execution failed) before the time per fact settled
+     */
+    record Result(int executions, int rounds, boolean stable, long nanos, long lastRoundNanosPerFact) {
+    }
+
+    private final boolean enabled;
+    private final long budgetNanos;
+    private final int recentFactsPerType;
+    private final int stableRounds;
+    private final double tolerance;
+    private final EntityScannerService entityScannerService;
+    private final ObjectMapper sampleMapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        .registerModule(new JavaTimeModule());
+
+    // Facts of recent live executions per fact type; each execution overwrites a random slot
+    private final Map<String, AtomicReferenceArray<Object>> recentFacts = new ConcurrentHashMap<>();
+    // Bundled sample fact per fact type, an empty list if it has none
+    private final Map<String, List<Object>> bundledSamples = new ConcurrentHashMap<>();
+
+    RuleWarmup(RuleEngineProperties.Warmup properties, EntityScannerService entityScannerService) {
+        this.enabled = properties.isEnabled();
+        this.budgetNanos = properties.getBudget().toNanos();
+        this.recentFactsPerType = Math.max(1, properties.getRecentFacts());
+        this.stableRounds = Math.max(1, properties.getStableRounds());
+        this.tolerance = properties.getTolerance();
+        this.entityScannerService = entityScannerService;
+    }
+
+    /**
+     * Remember a fact executed against the live container of its fact type.
+     */
+    void record(String factType, Object fact) {
+        if (!enabled || fact == null) {
+            return;
+        }
+        AtomicReferenceArray<Object> slots = recentFacts.get(factType);
+        if (slots == null) {
+            slots = recentFacts.computeIfAbsent(factType, key -> new AtomicReferenceArray<>(recentFactsPerType));
+        }
+        slots.set(ThreadLocalRandom.current().nextInt(recentFactsPerType), fact);
+    }
+
+    /**
+     * Replay sample facts through a new container.
+     * @param execution runs one fact against the new container and discards the results
+     * @return the outcome, or null if warm-up is disabled or there is nothing to replay
+     */
+    Result warmUp(String factType, Consumer<Object> execution) {
+        if (!enabled) {
+            return null;
+        }
+        List<Object> facts = samples(factType);
+        if (facts.isEmpty()) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        int executions = 0;
+        int rounds = 0;
+        int stableStreak = 0;
+        long previous = -1;
+        long perFact = 0;
+        try {
+            while (System.nanoTime() < deadline && stableStreak < stableRounds) {
+                long roundStart = System.nanoTime();
+                for (Object fact : facts) {
+                    execution.accept(fact);
+                    executions++;
+                }
+                perFact = (System.nanoTime() - roundStart) / facts.size();
+                rounds++;
+                if (previous > 0 && Math.abs(perFact - previous) <= tolerance * previous) {
+                    stableStreak++;
+                } else {
+                    stableStreak = 0;
+                }
+                previous = perFact;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Warm-up of {} stopped after {} executions: {}", factType, executions, e.getMessage());
+            stableStreak = 0;
+        }
+        return new Result(executions, rounds, stableStreak >= stableRounds, System.nanoTime() - start, perFact);
+    }
+
+    private List<Object> samples(String factType) {
+        List<Object> facts = new ArrayList<>();
+        AtomicReferenceArray<Object> slots = recentFacts.get(factType);
+        if (slots != null) {
+            for (int i = 0; i < slots.length(); i++) {
+                Object fact = slots.get(i);
+                if (fact != null) {
+                    facts.add(fact);
+                }
+            }
+        }
+        return facts.isEmpty() ? bundledSamples.computeIfAbsent(factType, this::loadBundledSample) : facts;
+    }
+
+    /**
+     * Sample fact from the classpath resource of the fact type, converted like a request body.
+     */
+    private List<Object> loadBundledSample(String factType) {
+        FactType factTypeEnum;
+        try {
+            factTypeEnum = FactType.fromValue(factType);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+        String resource = SAMPLE_RESOURCES.get(factTypeEnum);
+        Class<?> factClass = entityScannerService != null ? entityScannerService.getFactClass(factTypeEnum) : null;
+        if (resource == null || factClass == null) {
+            return List.of();
+        }
+        try (InputStream in = RuleWarmup.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                return List.of();
+            }
+            return List.of(sampleMapper.readValue(in, factClass));
+        } catch (Exception e) {
+            log.warn("Could not load warm-up sample {} for {}: {}", resource, factType, e.getMessage());
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package rule.engine.org.app.domain.service;
+
+import org.drools.model.codegen.ExecutableModelProject;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.KieModule;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieContainer;
+import org.kie.internal.builder.IncrementalResults;
+import org.kie.internal.builder.InternalKieBuilder;
+import rule.engine.org.app.config.RuleEngineProperties.Compile.BuildMode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Incremental build state of the live rules of one fact type: a KieFileSystem holding one DRL
+ * resource per rule and the KieBuilder that compiled it. A deploy writes only the resources whose
+ * DRL changed, recompiles them with an incremental build, and creates the new container from the
+ * updated KieModule so unchanged rules reuse their compiled packages.
+ * An executable-model workspace is rebuilt in full on every deploy: Drools keeps serving the
+ * models generated by the first build to new containers after an incremental build.
+ * Not thread-safe; RuleEngineManager only touches a workspace while holding the rebuild lock.
+ */
+final class RuleWorkspace {
+
+    private static final String RESOURCE_ROOT = "src/main/resources/";
+
+    private final KieServices kieServices;
+    private final KieFileSystem kfs;
+    private final KieBuilder kieBuilder;
+    private final ReleaseId releaseId;
+    private final BuildMode buildMode;
+    // DRL currently written to the file system, by resource path
+    private final Map<String, String> sources;
+
+    private RuleWorkspace(KieServices kieServices, KieFileSystem kfs, KieBuilder kieBuilder, ReleaseId releaseId,
+                          BuildMode buildMode, Map<String, String> sources) {
+        this.kieServices = kieServices;
+        this.kfs = kfs;
+        this.kieBuilder = kieBuilder;
+        this.releaseId = releaseId;
+        this.buildMode = buildMode;
+        this.sources = sources;
+    }
+
+    /**
+     * Compile all rule resources from scratch. buildAll adds the KieModule to the KieRepository
+     * (the caller tracks it in KieModuleRegistry); incremental builds update it in place.
+     * Each build mode has its own release ID, so a failed executable-model build never replaces
+     * the module of a DRL workspace and the other way round.
+     */
+    static RuleWorkspace create(String factType, Map<String, String> ruleSources, BuildMode buildMode) {
+        KieServices kieServices = KieServices.Factory.get();
+        ReleaseId releaseId = kieServices.newReleaseId("org.rule", factType.toLowerCase(),
+            buildMode == BuildMode.EXECUTABLE_MODEL ? "workspace-model" : "workspace");
+        KieFileSystem kfs = kieServices.newKieFileSystem();
+        KieBuilder kieBuilder = buildAll(kfs, releaseId, ruleSources, buildMode);
+        return new RuleWorkspace(kieServices, kfs, kieBuilder, releaseId, buildMode, new HashMap<>(ruleSources));
+    }
+
+    /**
+     * Write rule resources to an empty KieFileSystem and compile them in the given build mode.
+     * Also used for one-off builds and artifacts, which have no workspace.
+     */
+    static KieBuilder buildAll(KieFileSystem kfs, ReleaseId releaseId, Map<String, String> ruleSources,
+                               BuildMode buildMode) {
+        kfs.generateAndWritePomXML(releaseId);
+        ruleSources.forEach((path, drl) -> kfs.write(RESOURCE_ROOT + path, drl));
+        KieBuilder kieBuilder = KieServices.Factory.get().newKieBuilder(kfs);
+        return buildMode == BuildMode.EXECUTABLE_MODEL
+            ? kieBuilder.buildAll(ExecutableModelProject.class)
+            : kieBuilder.buildAll();
+    }
+
+    /**
+     * Errors of the last full build.
+     */
+    List<Message> errors() {
+        return kieBuilder.getResults().getMessages(Message.Level.ERROR);
+    }
+
+    /**
+     * Resource paths whose DRL differs between the workspace and the given rule sources
+     * (added, changed and removed rules).
+     */
+    List<String> changedPaths(Map<String, String> ruleSources) {
+        List<String> changed = new ArrayList<>();
+        ruleSources.forEach((path, drl) -> {
+            if (!Objects.equals(sources.get(path), drl)) {
+                changed.add(path);
+            }
+        });
+        for (String path : sources.keySet()) {
+            if (!ruleSources.containsKey(path)) {
+                changed.add(path);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Whether update can recompile single rules; otherwise every deploy creates a new workspace.
+     */
+    boolean supportsIncrementalBuild() {
+        return buildMode == BuildMode.DRL;
+    }
+
+    /**
+     * Write the changed rule resources and recompile only those.
+     * @return compilation errors introduced by the change; the workspace must be discarded if not empty
+     */
+    List<Message> update(Map<String, String> ruleSources, List<String> changedPaths) {
+        if (changedPaths.isEmpty()) {
+            return List.of();
+        }
+        String[] files = new String[changedPaths.size()];
+        for (int i = 0; i < files.length; i++) {
+            String path = changedPaths.get(i);
+            String drl = ruleSources.get(path);
+            if (drl != null) {
+                kfs.write(RESOURCE_ROOT + path, drl);
+                sources.put(path, drl);
+            } else {
+                kfs.delete(RESOURCE_ROOT + path);
+                sources.remove(path);
+            }
+            files[i] = RESOURCE_ROOT + path;
+        }
+        IncrementalResults results = ((InternalKieBuilder) kieBuilder).createFileSet(files).build();
+        return results.getAddedMessages().stream()
+            .filter(message -> message.getLevel() == Message.Level.ERROR)
+            .toList();
+    }
+
+    /**
+     * New container over the current state of the workspace. Its KieBase is assembled from the
+     * already compiled packages; once created, it is not affected by later incremental builds.
+     */
+    KieContainer newContainer() {
+        return kieServices.newKieContainer(releaseId);
+    }
+
+    KieModule getKieModule() {
+        return kieBuilder.getKieModule();
+    }
+
+    ReleaseId getReleaseId() {
+        return releaseId;
+    }
+
+    BuildMode getBuildMode() {
+        return buildMode;
+    }
+
+    /**
+     * Copy of the DRL currently compiled into the workspace, by resource path.
+     */
+    Map<String, String> snapshotSources() {
+        return Map.copyOf(sources);
+    }
+}
@@ -0,0 +1,179 @@
+package rule.engine.org.app.domain.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rule.engine.org.app.domain.service.RuleEngineManager.ContainerInfo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of compiled containers for historical versions, weighted by rule count.
+ * Entries are leased like live containers, so an evicted container is disposed only after
+ * the executions still using it release their lease. The active version of each fact type
+ * is pinned and never evicted.
+ */
+class VersionContainerCache {
+
+    private static final Logger log = LoggerFactory.getLogger(VersionContainerCache.class);
+
+    /**
+     * Cache key: a version is only reusable while its rules hash is unchanged.
+     */
+    record Key(String factType, long version, String rulesHash) {
+    }
+
+    private final int maxEntries;
+    private final long maxWeight;
+
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<Key, ContainerInfo> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalWeight;
+
+    // factType -> pinned (active) version
+    private final Map<String, Long> pinnedVersions = new ConcurrentHashMap<>();
+    // One compile per key at a time; concurrent misses for the same key wait for it
+    private final Map<Key, Object> loadLocks = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    VersionContainerCache(int maxEntries, long maxWeight) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxWeight = Math.max(1, maxWeight);
+    }
+
+    /**
+     * Lease the cached container for a key, compiling it with the loader on a miss.
+     * Caller must {@link ContainerInfo#release()} the returned container.
+     */
+    ContainerInfo acquire(Key key, Supplier<ContainerInfo> loader) {
+        ContainerInfo cached = leaseCached(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        Object loadLock = loadLocks.computeIfAbsent(key, k -> new Object());
+        try {
+            synchronized (loadLock) {
+                cached = leaseCached(key);
+                if (cached != null) {
+                    hits.increment();
+                    return cached;
+                }
+
+                misses.increment();
+                long start = System.nanoTime();
+                ContainerInfo loaded = loader.get();
+                loadNanos.add(System.nanoTime() - start);
+
+                // Lease before inserting so an immediate eviction cannot dispose it under us
+                loaded.acquire();
+                List<ContainerInfo> evicted;
+                synchronized (this) {
+                    ContainerInfo previous = entries.put(key, loaded);
+                    totalWeight += weightOf(loaded);
+                    evicted = new ArrayList<>();
+                    if (previous != null) {
+                        totalWeight -= weightOf(previous);
+                        evicted.add(previous);
+                    }
+                    evicted.addAll(evictOverflow());
+                }
+                evicted.forEach(ContainerInfo::retire);
+                return loaded;
+            }
+        } finally {
+            loadLocks.remove(key, loadLock);
+        }
+    }
+
+    /**
+     * Pin the active version of a fact type so it is never evicted.
+     */
+    void pin(String factType, long version) {
+        pinnedVersions.put(factType, version);
+    }
+
+    private synchronized ContainerInfo leaseCached(Key key) {
+        ContainerInfo info = entries.get(key);
+        if (info != null && info.acquire()) {
+            return info;
+        }
+        return null;
+    }
+
+    /**
+     * Remove least recently used, unpinned entries until the cache is within bounds.
+     * Must be called while holding the monitor; returned containers must be retired by the caller.
+     */
+    private List<ContainerInfo> evictOverflow() {
+        List<ContainerInfo> evicted = new ArrayList<>();
+        Iterator<Map.Entry<Key, ContainerInfo>> it = entries.entrySet().iterator();
+        while ((totalWeight > maxWeight || entries.size() > maxEntries) && it.hasNext()) {
+            Map.Entry<Key, ContainerInfo> entry = it.next();
+            if (isPinned(entry.getKey())) {
+                continue;
+            }
+            it.remove();
+            totalWeight -= weightOf(entry.getValue());
+            evictions.increment();
+            evicted.add(entry.getValue());
+            log.info("Evicted historical container {} v{} ({} rules) from version cache",
+                    entry.getKey().factType(), entry.getKey().version(), entry.getValue().ruleCount);
+        }
+        return evicted;
+    }
+
+    private boolean isPinned(Key key) {
+        Long pinned = pinnedVersions.get(key.factType());
+        return pinned != null && pinned == key.version();
+    }
+
+    private static long weightOf(ContainerInfo info) {
+        return Math.max(1, info.ruleCount);
+    }
+
+    /**
+     * Retire every cached container (shutdown).
+     */
+    void clear() {
+        List<ContainerInfo> removed;
+        synchronized (this) {
+            removed = new ArrayList<>(entries.values());
+            entries.clear();
+            totalWeight = 0;
+        }
+        removed.forEach(ContainerInfo::retire);
+    }
+
+    /**
+     * Cache statistics for monitoring.
+     */
+    Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (this) {
+            stats.put("entries", entries.size());
+            stats.put("weight", totalWeight);
+        }
+        long missCount = misses.sum();
+        stats.put("maxEntries", maxEntries);
+        stats.put("maxWeight", maxWeight);
+        stats.put("hits", hits.sum());
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.sum());
+        stats.put("averageLoadMillis", missCount > 0 ? loadNanos.sum() / missCount / 1_000_000 : 0);
+        stats.put("pinnedVersions", new HashMap<>(pinnedVersions));
+        return stats;
+    }
+}
@@ -2,7 +2,7 @@ package rule.engine.org.app.util;
 
 import rule.engine.org.app.domain.entity.ui.FactType;
 
-import java.util.List;
+import java.util.Collection;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -35,24 +35,24 @@ public class DrlConstants {
     /**
      * Build DRL header (package, imports, globals) based on factType.
      * Automatically extracts Java types from entity fields and imports only what's needed.
-     * Entity imports are dynamically scanned at startup, not hardcoded.
+     * Entity imports are dynamically scanned at startup, not hardcoded; the header of each
+     * fact type is rendered once by EntityScannerService and returned from its metadata.
      * 
      * @param factType The fact type to determine which imports to include
      * @return DRL header string with package, imports, and globals
      */
     public static String buildDrlHeader(FactType factType) {
-        StringBuilder header = new StringBuilder();
-        
-        // Package declaration
-        header.append("package ").append(DRL_PACKAGE).append("\n\n");
+        FactTypeMetadata metadata = entityScannerService != null ? entityScannerService.getMetadata(factType) : null;
+        if (metadata != null) {
+            return metadata.drlHeader();
+        }
         
         // Build imports list based on factType
-        Set<String> imports = new TreeSet<>(); // Use TreeSet for sorted, unique imports
+        Set<String> imports = new TreeSet<>();
         
         // Add entity imports from scanner (if available)
         if (entityScannerService != null) {
-            List<String> entityImports = entityScannerService.getAllEntityImports(factType);
-            imports.addAll(entityImports);
+            imports.addAll(entityScannerService.getAllEntityImports(factType));
         } else {
             // Fallback: log warning if scanner not initialized
             System.err.println("WARNING: EntityScannerService not initialized. " +
@@ -62,11 +62,25 @@ public class DrlConstants {
         // Extract Java types from entity fields and add their imports
         Set<Class<?>> javaTypes = RuleFieldExtractor.extractJavaTypesFromEntity(factType.getValue());
         for (Class<?> type : javaTypes) {
-            String importString = type.getName();
-            imports.add(importString);
+            imports.add(type.getName());
         }
+        return renderDrlHeader(imports);
+    }
+    
+    /**
+     * Render the DRL header for a set of imports.
+     * 
+     * @param importClasses Fully qualified class names to import (sorted and de-duplicated here)
+     * @return DRL header string with package, imports, and globals
+     */
+    static String renderDrlHeader(Collection<String> importClasses) {
+        StringBuilder header = new StringBuilder();
+        
+        // Package declaration
+        header.append("package ").append(DRL_PACKAGE).append("\n\n");
         
         // Write imports (sorted alphabetically)
+        Set<String> imports = new TreeSet<>(importClasses); // Use TreeSet for sorted, unique imports
         for (String importClass : imports) {
             header.append("import ").append(importClass).append("\n");
         }
@@ -7,6 +7,7 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.stereotype.Service;
+import rule.engine.org.app.api.response.RuleFieldMetadata;
 import rule.engine.org.app.domain.entity.ui.FactType;
 import jakarta.persistence.Entity;
 
@@ -15,7 +16,10 @@ import java.util.stream.Collectors;
 
 /**
  * Service to scan and cache entity classes for DRL generation.
- * Automatically discovers entity classes in execution packages at startup.
+ * Automatically discovers entity classes in execution packages at startup, and derives the
+ * FactTypeMetadata (DRL header, input fields) of every FactType once from them.
+ * Rules execute against the immutable fact classes under domain.fact that mirror the entities
+ * (same sub-package and simple name); the JPA entities only describe the fields to the rule editor.
  */
 @Service
 public class EntityScannerService {
@@ -25,6 +29,9 @@ public class EntityScannerService {
     // Base package for execution entities
     private static final String EXECUTION_BASE_PACKAGE = "rule.engine.org.app.domain.entity.execution";
 
+    // Base package for the execution facts mirroring the entities
+    private static final String FACT_BASE_PACKAGE = "rule.engine.org.app.domain.fact";
+
     // Package mappings for each FactType
     private static final Map<FactType, String> FACT_TYPE_PACKAGES = Map.of(
             FactType.DECLARATION, EXECUTION_BASE_PACKAGE + ".declaration",
@@ -41,6 +48,9 @@ public class EntityScannerService {
     // Cached entity class names by FactType
     private final Map<FactType, List<String>> entityImportsByFactType = new HashMap<>();
 
+    // Immutable metadata by FactType, replaced as a whole by each scan
+    private volatile Map<FactType, FactTypeMetadata> metadataByFactType = Map.of();
+
     /**
      * Scan and cache entity classes at application startup.
      */
@@ -68,9 +78,65 @@ public class EntityScannerService {
                     entityImports.size(), factType, packageName);
         }
 
+        Map<FactType, FactTypeMetadata> metadata = new EnumMap<>(FactType.class);
+        for (FactType factType : FACT_TYPE_PACKAGES.keySet()) {
+            metadata.put(factType, buildMetadata(factType));
+        }
+        metadataByFactType = Collections.unmodifiableMap(metadata);
+
         log.info("Entity scanning completed. Total FactTypes: {}", entityImportsByFactType.size());
     }
 
+    /**
+     * Reflect over the entities of a FactType once: fact class, DRL imports and header, and input fields.
+     */
+    private FactTypeMetadata buildMetadata(FactType factType) {
+        Class<?> mainEntityClass = findMainEntityClass(factType);
+        Class<?> factClass = mainEntityClass != null ? factClassFor(mainEntityClass.getName()) : null;
+        // Rules are compiled against the fact classes
+        Set<String> imports = new TreeSet<>();
+        for (String entityImport : getAllEntityImports(factType)) {
+            Class<?> fact = factClassFor(entityImport);
+            imports.add(fact != null ? fact.getName() : entityImport);
+        }
+        List<RuleFieldMetadata.FieldDefinition> inputFields = List.of();
+        if (mainEntityClass != null) {
+            RuleFieldExtractor.scanJavaTypes(mainEntityClass).forEach(type -> imports.add(type.getName()));
+            inputFields = List.copyOf(RuleFieldExtractor.scanInputFields(mainEntityClass));
+        }
+        Map<String, String> inputFieldTypes = new LinkedHashMap<>();
+        for (RuleFieldMetadata.FieldDefinition field : inputFields) {
+            inputFieldTypes.putIfAbsent(field.getName(), field.getType());
+        }
+        return new FactTypeMetadata(factType, mainEntityClass, factClass != null ? factClass : mainEntityClass, List.copyOf(imports),
+                DrlConstants.renderDrlHeader(imports), inputFields, Collections.unmodifiableMap(inputFieldTypes));
+    }
+
+    /**
+     * Fact class mirroring an execution entity, or null if the entity has none.
+     */
+    private static Class<?> factClassFor(String entityClassName) {
+        if (!entityClassName.startsWith(EXECUTION_BASE_PACKAGE + ".")) {
+            return null;
+        }
+        String factClassName = FACT_BASE_PACKAGE + entityClassName.substring(EXECUTION_BASE_PACKAGE.length());
+        try {
+            return Class.forName(factClassName);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get the metadata of a FactType.
+     *
+     * @param factType The fact type
+     * @return The metadata, or null before the entities have been scanned
+     */
+    public FactTypeMetadata getMetadata(FactType factType) {
+        return metadataByFactType.get(factType);
+    }
+
     /**
      * Scan a package for entity classes.
      *
@@ -127,6 +193,34 @@ public class EntityScannerService {
      * @return The main entity class, or null if not found
      */
     public Class<?> getMainEntityClass(FactType factType) {
+        FactTypeMetadata metadata = getMetadata(factType);
+        if (metadata != null && metadata.mainEntityClass() != null) {
+            return metadata.mainEntityClass();
+        }
+        return findMainEntityClass(factType);
+    }
+
+    /**
+     * Get the class rules of a FactType execute against: the immutable fact mirroring the main
+     * entity, or the main entity itself if it has no fact class.
+     *
+     * @param factType The fact type
+     * @return The fact class, or null if not found
+     */
+    public Class<?> getFactClass(FactType factType) {
+        FactTypeMetadata metadata = getMetadata(factType);
+        if (metadata != null && metadata.factClass() != null) {
+            return metadata.factClass();
+        }
+        Class<?> mainEntityClass = findMainEntityClass(factType);
+        if (mainEntityClass == null) {
+            return null;
+        }
+        Class<?> factClass = factClassFor(mainEntityClass.getName());
+        return factClass != null ? factClass : mainEntityClass;
+    }
+
+    private Class<?> findMainEntityClass(FactType factType) {
         List<String> entityClassNames = getEntityImports(factType);
         String factTypeValue = factType.getValue();
         
@@ -0,0 +1,29 @@
+package rule.engine.org.app.util;
+
+import rule.engine.org.app.api.response.RuleFieldMetadata.FieldDefinition;
+import rule.engine.org.app.domain.entity.ui.FactType;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything DRL generation and the rule editor need to know about a FactType, derived once by
+ * reflection when EntityScannerService scans the entities and shared afterwards.
+ * The lists and maps are unmodifiable; the FieldDefinition instances are shared and must not be changed.
+ *
+ * @param mainEntityClass entity describing the fields to the rule editor (e.g. Declaration), null if it was not found
+ * @param factClass immutable fact the rules match on, mirroring the main entity (the entity itself if it has none)
+ * @param drlImports sorted imports of the DRL header (fact classes and the Java types of their fields)
+ * @param drlHeader package, imports and globals prepended to every rule of the fact type
+ * @param inputFields fields usable in WHEN conditions, as returned by /api/v1/rules/metadata
+ * @param inputFieldTypes field type by input field path
+ */
+public record FactTypeMetadata(
+        FactType factType,
+        Class<?> mainEntityClass,
+        Class<?> factClass,
+        List<String> drlImports,
+        String drlHeader,
+        List<FieldDefinition> inputFields,
+        Map<String, String> inputFieldTypes) {
+}
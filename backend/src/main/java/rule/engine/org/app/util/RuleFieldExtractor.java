@@ -21,11 +21,17 @@ import java.util.Map;
 
 /**
  * Extracts field metadata from entity classes using reflection.
- * Uses EntityScannerService to dynamically discover entity classes.
+ * Uses EntityScannerService to dynamically discover entity classes. Reflection runs once per
+ * FactType when EntityScannerService builds its FactTypeMetadata; lookups afterwards return the
+ * shared, unmodifiable results.
  */
 @Component
 public class RuleFieldExtractor {
 
+    // Output fields and operators do not depend on the fact type; built once
+    private static final List<FieldDefinition> OUTPUT_FIELDS = List.copyOf(scanOutputFields());
+    private static final Map<String, List<OperatorDefinition>> OPERATORS_BY_TYPE = Map.copyOf(buildOperatorsByType());
+
     private static RuleFieldExtractor instance;
     private final EntityScannerService entityScannerService;
 
@@ -63,20 +69,46 @@ public class RuleFieldExtractor {
         return getInstance().extractInputFields(factTypeEnum);
     }
 
+    /**
+     * Field type by input field path, for quoting values when rendering conditions.
+     * 
+     * @param factType Fact type enum
+     * @return Unmodifiable map of field path to field type
+     */
+    public static Map<String, String> getInputFieldTypes(FactType factType) {
+        FactTypeMetadata metadata = getInstance().entityScannerService.getMetadata(factType);
+        if (metadata != null && metadata.mainEntityClass() != null) {
+            return metadata.inputFieldTypes();
+        }
+        Map<String, String> types = new HashMap<>();
+        getInstance().extractInputFields(factType).forEach(field -> types.putIfAbsent(field.getName(), field.getType()));
+        return types;
+    }
+
     /**
      * Automatically extract all input fields from entity using reflection based on fact type.
      * 
      * @param factType Fact type enum
-     * @return List of field definitions
+     * @return Unmodifiable list of field definitions
      */
     public List<FieldDefinition> extractInputFields(FactType factType) {
-        List<FieldDefinition> fields = new ArrayList<>();
-        
         // Get main entity class dynamically from EntityScannerService
         Class<?> entityClass = entityScannerService.getMainEntityClass(factType);
         if (entityClass == null) {
             throw new IllegalArgumentException("Main entity class not found for FactType: " + factType);
         }
+        FactTypeMetadata metadata = entityScannerService.getMetadata(factType);
+        return metadata != null ? metadata.inputFields() : List.copyOf(scanInputFields(entityClass));
+    }
+
+    /**
+     * Reflect over an entity class and its @OneToMany related entities for the input fields.
+     * 
+     * @param entityClass Main entity class of a fact type
+     * @return List of field definitions
+     */
+    static List<FieldDefinition> scanInputFields(Class<?> entityClass) {
+        List<FieldDefinition> fields = new ArrayList<>();
         
         // Generate entity prefix from class name (camelCase)
         String entityPrefix = toCamelCase(entityClass.getSimpleName());
@@ -246,9 +278,13 @@ public class RuleFieldExtractor {
     
     /**
      * Get operators grouped by field type
-     * Returns a map of field type -> list of applicable operators
+     * Returns a map of field type -> list of applicable operators (unmodifiable)
      */
     public static Map<String, List<OperatorDefinition>> getOperatorsByType() {
+        return OPERATORS_BY_TYPE;
+    }
+    
+    private static Map<String, List<OperatorDefinition>> buildOperatorsByType() {
         Map<String, List<OperatorDefinition>> operators = new HashMap<>();
         
         // String operators
@@ -326,13 +362,22 @@ public class RuleFieldExtractor {
      * @return Set of Java Class types that need to be imported
      */
     public java.util.Set<Class<?>> extractJavaTypesFromEntity(FactType factType) {
-        java.util.Set<Class<?>> types = new java.util.HashSet<>();
-        
         // Get main entity class dynamically from EntityScannerService
         Class<?> entityClass = entityScannerService.getMainEntityClass(factType);
         if (entityClass == null) {
             throw new IllegalArgumentException("Main entity class not found for FactType: " + factType);
         }
+        return scanJavaTypes(entityClass);
+    }
+
+    /**
+     * Reflect over an entity class and its @OneToMany related entities for the Java types to import.
+     * 
+     * @param entityClass Main entity class of a fact type
+     * @return Set of Java Class types that need to be imported
+     */
+    static java.util.Set<Class<?>> scanJavaTypes(Class<?> entityClass) {
+        java.util.Set<Class<?>> types = new java.util.HashSet<>();
         
         // Get all declared fields from entity class
         Field[] declaredFields = entityClass.getDeclaredFields();
@@ -415,9 +460,13 @@ public class RuleFieldExtractor {
     /**
      * Automatically extract all output fields from RuleOutputHit entity using reflection.
      * These fields are used in the THEN section of rules (output/action fields).
-     * @return List of field definitions with predefined order and descriptions
+     * @return Unmodifiable list of field definitions with predefined order and descriptions
      */
     public static List<FieldDefinition> extractOutputFields() {
+        return OUTPUT_FIELDS;
+    }
+    
+    private static List<FieldDefinition> scanOutputFields() {
         List<FieldDefinition> fields = new ArrayList<>();
         
         // Get all declared fields from RuleOutputHit class
@@ -0,0 +1,4 @@
+-- RuleExecutionResult ids are now sequence-generated by Hibernate with a pooled optimizer
+-- (allocationSize = 50) so execution results can be written with JDBC batch inserts.
+-- The sequence increment must match the allocation size; existing ids are unaffected.
+ALTER SEQUENCE rule_execution_results_id_seq INCREMENT BY 50;
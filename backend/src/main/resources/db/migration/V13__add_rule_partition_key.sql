@@ -0,0 +1,4 @@
+-- Partition key of a rule: the value of its fact type's partition field (rule-engine.partitioning.fields,
+-- e.g. Declaration.typeCode = 'EX') that facts must have for the rule to be evaluated.
+-- NULL keeps the rule shared by all facts of the fact type.
+ALTER TABLE decision_rules ADD COLUMN partition_key VARCHAR(100);
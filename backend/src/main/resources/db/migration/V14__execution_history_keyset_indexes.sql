@@ -0,0 +1,26 @@
+-- Execution history is read newest first in keyset pages ordered by (executed_at DESC, id DESC).
+-- Each query gets an index that starts with its filter and then the page order, so a page is a
+-- bounded index range scan however large the table grows.
+
+-- History of a declaration (replaces idx_execution_declaration)
+CREATE INDEX IF NOT EXISTS idx_execution_declaration_time
+    ON rule_execution_results (declaration_id, executed_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_execution_declaration;
+
+-- History of a rule and the decision_rules foreign key (replaces idx_execution_rule).
+-- Covers matched so rule fire counts can be answered from the index alone.
+CREATE INDEX IF NOT EXISTS idx_execution_rule_time
+    ON rule_execution_results (decision_rule_id, executed_at DESC, id DESC)
+    INCLUDE (matched);
+DROP INDEX IF EXISTS idx_execution_rule;
+
+-- Declarations flagged by a rule
+CREATE INDEX IF NOT EXISTS idx_execution_rule_flagged_time
+    ON rule_execution_results (decision_rule_id, executed_at DESC, id DESC)
+    WHERE rule_action = 'FLAG';
+
+-- History of all of a user's rules: scanned newest first until a page of their rows is found
+-- (replaces idx_execution_time)
+CREATE INDEX IF NOT EXISTS idx_execution_time_id
+    ON rule_execution_results (executed_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_execution_time;
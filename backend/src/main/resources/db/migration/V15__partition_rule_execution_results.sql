@@ -0,0 +1,94 @@
+-- rule_execution_results becomes a table range partitioned by executed_at. Partitions are created
+-- ahead of time and dropped after the retention period by ExecutionPartitionManager, which rolls
+-- each partition up into rule_execution_hourly_rollups before dropping it. Inserts and vacuum then
+-- only touch the current partition, and expiring old rows is a DROP TABLE instead of a DELETE.
+--
+-- The existing table is not copied: it is renamed and attached as the first partition, holding
+-- everything up to the end of today. The manager adds the next partitions at startup.
+
+ALTER TABLE rule_execution_results RENAME TO rule_execution_results_legacy;
+ALTER INDEX rule_execution_results_pkey RENAME TO rule_execution_results_legacy_pkey;
+ALTER INDEX idx_execution_declaration_time RENAME TO idx_execution_legacy_declaration_time;
+ALTER INDEX idx_execution_rule_time RENAME TO idx_execution_legacy_rule_time;
+ALTER INDEX idx_execution_rule_flagged_time RENAME TO idx_execution_legacy_rule_flagged_time;
+ALTER INDEX idx_execution_time_id RENAME TO idx_execution_legacy_time_id;
+
+-- The primary key of a partitioned table must include the partition column.
+-- Ids stay unique on their own since they all come from the one sequence.
+CREATE TABLE rule_execution_results (
+    id BIGINT NOT NULL DEFAULT nextval('rule_execution_results_id_seq'),
+    declaration_id VARCHAR(255) NOT NULL,
+    decision_rule_id BIGINT NOT NULL,
+    matched BOOLEAN NOT NULL DEFAULT false,
+    rule_action VARCHAR(50),
+    rule_result TEXT,
+    rule_score NUMERIC(5, 2),
+    executed_at TIMESTAMP NOT NULL,
+    execution_source VARCHAR(20) DEFAULT 'API',
+
+    -- Audit columns
+    created_date TIMESTAMP,
+    last_modified_date TIMESTAMP,
+    created_by VARCHAR(255),
+    last_modified_by VARCHAR(255),
+
+    CONSTRAINT rule_execution_results_pkey PRIMARY KEY (id, executed_at),
+    CONSTRAINT fk_execution_rule FOREIGN KEY (decision_rule_id) REFERENCES decision_rules(id) ON DELETE CASCADE,
+    CONSTRAINT chk_execution_source CHECK (execution_source IN ('API', 'UI'))
+) PARTITION BY RANGE (executed_at);
+
+-- The id sequence moves to the new table; owned by the legacy table it would be dropped with it
+ALTER SEQUENCE rule_execution_results_id_seq OWNED BY rule_execution_results.id;
+
+-- Upper bound of the legacy partition: the end of today, or of the day of the latest row if a clock was ahead
+DO $$
+DECLARE
+    legacy_end TIMESTAMP;
+BEGIN
+    SELECT date_trunc('day', GREATEST(LOCALTIMESTAMP, COALESCE(MAX(executed_at), LOCALTIMESTAMP))) + INTERVAL '1 day'
+    INTO legacy_end
+    FROM rule_execution_results_legacy;
+
+    EXECUTE format(
+        'ALTER TABLE rule_execution_results ATTACH PARTITION rule_execution_results_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+        legacy_end);
+END $$;
+
+-- Catches rows outside every partition (e.g. the manager has not run yet) instead of failing the insert.
+-- The manager moves them into their partition when it creates it.
+CREATE TABLE rule_execution_results_default PARTITION OF rule_execution_results DEFAULT;
+
+-- Indexes of the execution history queries (see V14). Created on the parent they are created on
+-- every partition; the legacy partition's existing indexes are attached instead of rebuilt.
+-- idx_execution_action, idx_execution_matched and idx_execution_source are not used by any query
+-- and are not carried over to new partitions; they go away with the legacy partition.
+CREATE INDEX idx_execution_declaration_time
+    ON rule_execution_results (declaration_id, executed_at DESC, id DESC);
+CREATE INDEX idx_execution_rule_time
+    ON rule_execution_results (decision_rule_id, executed_at DESC, id DESC)
+    INCLUDE (matched);
+CREATE INDEX idx_execution_rule_flagged_time
+    ON rule_execution_results (decision_rule_id, executed_at DESC, id DESC)
+    WHERE rule_action = 'FLAG';
+CREATE INDEX idx_execution_time_id
+    ON rule_execution_results (executed_at DESC, id DESC);
+
+-- Hourly per-rule totals of dropped partitions. Only expired data is rolled up, so totals over all
+-- time are the rollups plus the raw rows still kept. No foreign key: rollups outlive deleted rules.
+CREATE TABLE IF NOT EXISTS rule_execution_hourly_rollups (
+    bucket_start TIMESTAMP NOT NULL,
+    decision_rule_id BIGINT NOT NULL,
+    execution_source VARCHAR(20) NOT NULL,
+    execution_count BIGINT NOT NULL,
+    matched_count BIGINT NOT NULL,
+    flagged_count BIGINT NOT NULL,
+    score_sum NUMERIC(18, 2),
+    score_max NUMERIC(5, 2),
+
+    CONSTRAINT rule_execution_hourly_rollups_pkey PRIMARY KEY (bucket_start, decision_rule_id, execution_source)
+);
+
+CREATE INDEX IF NOT EXISTS idx_execution_rollups_rule
+    ON rule_execution_hourly_rollups (decision_rule_id, bucket_start DESC);
+
+COMMENT ON TABLE rule_execution_hourly_rollups IS 'Hourly per-rule totals of rule_execution_results partitions dropped after the retention period';
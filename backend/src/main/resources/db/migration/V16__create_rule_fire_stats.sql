@@ -0,0 +1,32 @@
+-- Per-rule fire counts by day and execution source, maintained by RuleFireCounter, which counts
+-- hits in memory and adds its counts here every few seconds. Fire counts are read from this table
+-- instead of counting rule_execution_results, so reading one costs a lookup per day of history
+-- however many executions there were.
+-- No foreign key: counters of a deleted rule may still be flushed after it is gone.
+CREATE TABLE IF NOT EXISTS rule_fire_stats (
+    decision_rule_id BIGINT NOT NULL,
+    stat_date DATE NOT NULL,
+    execution_source VARCHAR(20) NOT NULL,
+    fire_count BIGINT NOT NULL,
+
+    -- Covers fire_count so counts are summed from the index alone
+    CONSTRAINT rule_fire_stats_pkey PRIMARY KEY (decision_rule_id, stat_date, execution_source) INCLUDE (fire_count)
+);
+
+-- Backfill from the raw results still kept and the rollups of partitions already dropped (V15)
+INSERT INTO rule_fire_stats (decision_rule_id, stat_date, execution_source, fire_count)
+SELECT decision_rule_id, stat_date, execution_source, SUM(fires)
+FROM (
+    SELECT decision_rule_id, executed_at::date AS stat_date, COALESCE(execution_source, 'API') AS execution_source,
+           COUNT(*) AS fires
+    FROM rule_execution_results
+    WHERE matched = true
+    GROUP BY 1, 2, 3
+    UNION ALL
+    SELECT decision_rule_id, bucket_start::date, execution_source, SUM(matched_count)
+    FROM rule_execution_hourly_rollups
+    GROUP BY 1, 2, 3
+) fires
+GROUP BY decision_rule_id, stat_date, execution_source;
+
+COMMENT ON TABLE rule_fire_stats IS 'Times each rule fired per day and execution source (API or UI)';
@@ -0,0 +1,10 @@
+-- Rules and their condition/output groups, conditions and outputs are now sequence-generated by
+-- Hibernate with a pooled optimizer (allocationSize = 50), like execution results since V12, so a
+-- bulk rule import can write them with JDBC batch inserts. Identity columns make Hibernate insert
+-- each row on its own to read back its id.
+-- The sequence increments must match the allocation size; existing ids are unaffected.
+ALTER SEQUENCE decision_rules_id_seq INCREMENT BY 50;
+ALTER SEQUENCE rule_condition_group_id_seq INCREMENT BY 50;
+ALTER SEQUENCE rule_condition_id_seq INCREMENT BY 50;
+ALTER SEQUENCE rule_output_group_id_seq INCREMENT BY 50;
+ALTER SEQUENCE rule_output_id_seq INCREMENT BY 50;